@@ -1,26 +1,321 @@
 //TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
 // click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.*;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
 
+/**
+ * Prints (or counts) the even and odd numbers in 1..limit.
+ *
+ * Usage: java Main.java [limit] [--count-only] [--parallel] [--out FILE]
+ *                       [--only even|odd] [--multiple-of K] [--primes] [--stats]
+ *
+ * Without a limit it prompts for one, as before. Classes that are arithmetic progressions
+ * (even, odd, multiples of K) are enumerated by stepping and counted in closed form; any
+ * other predicate (--primes) is tested per number, across fork-join chunks with --parallel. Digits
+ * are encoded straight into large reusable byte buffers and written through a
+ * FileChannel, so no String is created per number.
+ */
 public class Main {
-    public static void main(String[] args) {
-        Scanner sc = new Scanner(System.in);
-        System.out.print("Enter The Limit until where it should be printed : ");
-        int a = sc.nextInt();
-
-
-        System.out.println("Even numbers are :");
-        for (int i = 1; i <= a; i++){
-            if (i%2==0) {
-                System.out.println(i+"");
-            }}
-
-        System.out.println("");
-        System.out.println("odd numbers are :");
-        for (int j = 1; j <= a; j++){
-            if (j%2!=0) {
-                System.out.println(j+"");
-            }}
-        sc.close();
-    }
-}
\ No newline at end of file
+
+    private static final int BUFFER_BYTES = 1 << 20;
+    // 20 digits for Long.MAX_VALUE plus the newline
+    private static final int MAX_LINE_BYTES = 21;
+    private static final long CHUNK_NUMBERS = 1 << 20;
+
+    static final class NumberClass {
+        final String header;
+        final LongPredicate test;
+        // first/step describe an arithmetic progression; step 0 means "use test"
+        final long first;
+        final long step;
+
+        private NumberClass(String header, LongPredicate test, long first, long step) {
+            this.header = header;
+            this.test = test;
+            this.first = first;
+            this.step = step;
+        }
+
+        static NumberClass progression(String header, long first, long step) {
+            return new NumberClass(header, n -> n >= first && (n - first) % step == 0, first, step);
+        }
+
+        static NumberClass matching(String header, LongPredicate test) {
+            return new NumberClass(header, test, 0, 0);
+        }
+
+        // Smallest member >= from, for progressions
+        long firstFrom(long from) {
+            if (from <= first) return first;
+            long offset = (from - first + step - 1) / step;
+            return first + offset * step;
+        }
+
+        long count(long limit, boolean parallel) {
+            if (step > 0) return limit < first ? 0 : (limit - first) / step + 1;
+            LongStream range = LongStream.rangeClosed(1, limit);
+            return (parallel ? range.parallel() : range).filter(test).count();
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        long limit = -1;
+        boolean countOnly = false;
+        boolean parallel = false;
+        boolean stats = false;
+        String outFile = null;
+        String only = null;
+        List<NumberClass> classes = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--count-only": countOnly = true; break;
+                case "--parallel": parallel = true; break;
+                case "--stats": stats = true; break;
+                case "--out": outFile = args[++i]; break;
+                case "--only": only = args[++i]; break;
+                case "--multiple-of":
+                    long k = Long.parseLong(args[++i]);
+                    if (k <= 0) throw new IllegalArgumentException("--multiple-of needs a positive number");
+                    classes.add(NumberClass.progression("multiples of " + k + " are :", k, k));
+                    break;
+                case "--primes":
+                    classes.add(NumberClass.matching("prime numbers are :", Main::isPrime));
+                    break;
+                default: limit = Long.parseLong(args[i]);
+            }
+        }
+
+        if (limit < 0) {
+            Scanner sc = new Scanner(System.in);
+            System.out.print("Enter The Limit until where it should be printed : ");
+            limit = sc.nextLong();
+            sc.close();
+            System.out.flush();
+        }
+
+        if (!"odd".equals(only)) classes.add(0, NumberClass.progression("Even numbers are :", 2, 2));
+        if (!"even".equals(only)) classes.add("odd".equals(only) ? 0 : 1, NumberClass.progression("odd numbers are :", 1, 2));
+
+        long start = System.nanoTime();
+        long total = 0;
+        if (countOnly) {
+            for (NumberClass c : classes) {
+                long n = c.count(limit, parallel);
+                total += n;
+                System.out.println(c.header + " " + n);
+            }
+        } else {
+            try (WritableByteChannel out = outFile != null
+                    ? FileChannel.open(Paths.get(outFile), StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)
+                    : new FileOutputStream(FileDescriptor.out).getChannel()) {
+                for (int i = 0; i < classes.size(); i++) {
+                    NumberClass c = classes.get(i);
+                    writeText(out, (i > 0 ? "\n" : "") + c.header + "\n");
+                    total += parallel ? writeParallel(c, limit, out) : writeSequential(c, limit, out);
+                }
+            }
+        }
+        if (stats) {
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.err.printf("%d numbers in %.3f s (%.1f M/s)%n", total, seconds, total / seconds / 1e6);
+        }
+    }
+
+    // Trial division by 2, 3 and then 6k +/- 1 up to the square root
+    static boolean isPrime(long n) {
+        if (n < 4) return n > 1;
+        if (n % 2 == 0 || n % 3 == 0) return false;
+        for (long d = 5; d <= n / d; d += 6) {
+            if (n % d == 0 || n % (d + 2) == 0) return false;
+        }
+        return true;
+    }
+
+    private static long writeSequential(NumberClass c, long limit, WritableByteChannel out) throws IOException {
+        byte[] buf = new byte[BUFFER_BYTES];
+        int pos = 0;
+        long written = 0;
+        if (c.step > 0) {
+            DecimalCounter counter = new DecimalCounter(c.first, c.step);
+            for (long n = c.first; n <= limit && n > 0; n += c.step) {
+                if (pos > BUFFER_BYTES - MAX_LINE_BYTES) {
+                    drain(out, buf, pos);
+                    pos = 0;
+                }
+                pos = counter.putLineAndAdvance(buf, pos);
+                written++;
+            }
+        } else {
+            for (long n = 1; n <= limit && n > 0; n++) {
+                if (!c.test.test(n)) continue;
+                if (pos > BUFFER_BYTES - MAX_LINE_BYTES) {
+                    drain(out, buf, pos);
+                    pos = 0;
+                }
+                pos = putLine(buf, pos, n);
+                written++;
+            }
+        }
+        drain(out, buf, pos);
+        return written;
+    }
+
+    private static final class Chunk {
+        final byte[] buf;
+        final int length;
+        final long count;
+
+        Chunk(byte[] buf, int length, long count) {
+            this.buf = buf;
+            this.length = length;
+            this.count = count;
+        }
+    }
+
+    /**
+     * Encodes 1..limit in CHUNK_NUMBERS-sized slices on the common fork-join pool while
+     * this thread writes finished slices in order. At most two slices per core are in
+     * flight, and their buffers are recycled, so memory stays bounded for any limit.
+     */
+    private static long writeParallel(NumberClass c, long limit, WritableByteChannel out)
+            throws IOException, InterruptedException, ExecutionException {
+        int window = Math.max(2, ForkJoinPool.getCommonPoolParallelism() * 2);
+        int chunkBytes = (int) (CHUNK_NUMBERS * (digits(limit) + 1));
+        BlockingQueue<byte[]> buffers = new LinkedBlockingQueue<>();
+        Deque<Future<Chunk>> pending = new ArrayDeque<>();
+        long written = 0;
+
+        for (long from = 1; from <= limit; from += CHUNK_NUMBERS) {
+            long lo = from;
+            long hi = Math.min(limit, from + CHUNK_NUMBERS - 1);
+            pending.add(ForkJoinPool.commonPool().submit(() -> {
+                byte[] buf = buffers.poll();
+                if (buf == null) buf = new byte[chunkBytes];
+                return encode(c, lo, hi, buf);
+            }));
+            if (pending.size() >= window) written += writeChunk(pending.poll().get(), out, buffers);
+            if (hi == Long.MAX_VALUE) break;
+        }
+        while (!pending.isEmpty()) {
+            written += writeChunk(pending.poll().get(), out, buffers);
+        }
+        return written;
+    }
+
+    private static long writeChunk(Chunk chunk, WritableByteChannel out, BlockingQueue<byte[]> buffers) throws IOException {
+        drain(out, chunk.buf, chunk.length);
+        buffers.offer(chunk.buf);
+        return chunk.count;
+    }
+
+    private static Chunk encode(NumberClass c, long lo, long hi, byte[] buf) {
+        int pos = 0;
+        long count = 0;
+        if (c.step > 0) {
+            long n = c.firstFrom(lo);
+            DecimalCounter counter = new DecimalCounter(n, c.step);
+            for (; n <= hi && n > 0; n += c.step) {
+                pos = counter.putLineAndAdvance(buf, pos);
+                count++;
+            }
+        } else {
+            for (long n = lo; n <= hi; n++) {
+                if (!c.test.test(n)) continue;
+                pos = putLine(buf, pos, n);
+                count++;
+            }
+        }
+        return new Chunk(buf, pos, count);
+    }
+
+    /**
+     * The current member of a progression kept as ASCII digits. Advancing adds the step
+     * digit by digit with carry, which is far cheaper than re-encoding every number with
+     * divisions when the members are consecutive.
+     */
+    static final class DecimalCounter {
+        // Right-aligned digits; value occupies digits[start..MAX_LINE_BYTES-1)
+        private final byte[] digits = new byte[MAX_LINE_BYTES - 1];
+        private final byte[] stepDigits = new byte[MAX_LINE_BYTES - 1];
+        private int start;
+        private final int stepStart;
+
+        DecimalCounter(long value, long step) {
+            start = fill(digits, value);
+            stepStart = fill(stepDigits, step);
+        }
+
+        private static int fill(byte[] target, long value) {
+            int i = target.length;
+            do {
+                target[--i] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            return i;
+        }
+
+        int putLineAndAdvance(byte[] buf, int pos) {
+            int len = digits.length - start;
+            System.arraycopy(digits, start, buf, pos, len);
+            buf[pos + len] = '\n';
+            int carry = 0;
+            for (int i = digits.length - 1; i >= 0; i--) {
+                int add = (i >= stepStart ? stepDigits[i] - '0' : 0) + carry;
+                if (add == 0 && i < stepStart) break;
+                int d = (i >= start ? digits[i] - '0' : 0) + add;
+                carry = d >= 10 ? 1 : 0;
+                digits[i] = (byte) ('0' + d - carry * 10);
+                if (i < start) start = i;
+            }
+            return pos + len + 1;
+        }
+    }
+
+    // Writes n in decimal plus '\n' at pos, returning the new position
+    private static int putLine(byte[] buf, int pos, long n) {
+        int end = pos + digits(n);
+        int i = end;
+        do {
+            buf[--i] = (byte) ('0' + n % 10);
+            n /= 10;
+        } while (n != 0);
+        buf[end] = '\n';
+        return end + 1;
+    }
+
+    private static int digits(long n) {
+        int d = 1;
+        while (n >= 10) {
+            n /= 10;
+            d++;
+        }
+        return d;
+    }
+
+    private static void drain(WritableByteChannel out, byte[] buf, int length) throws IOException {
+        ByteBuffer bb = ByteBuffer.wrap(buf, 0, length);
+        while (bb.hasRemaining()) out.write(bb);
+    }
+
+    private static void writeText(WritableByteChannel out, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        drain(out, bytes, bytes.length);
+    }
+}
@@ -1,33 +1,382 @@
-//
-// Source code recreated from a .class file by IntelliJ IDEA
-// (powered by FernFlower decompiler)
-//
-
-import java.util.Scanner;
-
-public class arithmetic{
-    public static void main(String[] args) {
-        Scanner sc = new Scanner(System.in);
-        System.out.print("Enter The 1st number : ");
-        int a = sc.nextInt();
-        System.out.print("Enter The 2nd number : ");
-        int b = sc.nextInt();
-        System.out.print("Enter your choice : ");
-        int choice = sc.nextInt();
-        sc.close();
-        switch (choice) {
-            case 1:
-                System.out.println("sum is " + (a + b));
-                break;
-            case 2:
-                System.out.println("difference is " + (a - b));
-                break;
-            case 3:
-                System.out.println("quotient is " + a / b);
-                break;
-            case 4:
-                System.out.println("multiplication is " + a * b);
-        }
-
-    }
-}
+//
+// Source code recreated from a .class file by IntelliJ IDEA
+// (powered by FernFlower decompiler)
+//
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Scanner;
+import java.util.stream.IntStream;
+
+/**
+ * Interactive: java arithmetic.java
+ * Batch:       java arithmetic.java --batch IN.csv --out OUT [--binary] [--parallel]
+ *
+ * Batch input has one "a,b,op" record per line; a and b are ints and op is the menu
+ * number (1 sum, 2 difference, 3 quotient, 4 multiplication) or + - / *. Output keeps
+ * input order: CSV lines "result,STATUS", or with --binary a little-endian int32 result
+ * followed by a one-byte status code per record. Records are parsed straight from bytes
+ * into primitive arrays a block at a time and evaluated in a flat loop, optionally split
+ * across cores.
+ */
+public class arithmetic{
+
+    static final byte OK = 0;
+    static final byte OVERFLOW = 1;
+    static final byte DIVIDE_BY_ZERO = 2;
+    static final byte BAD_OPERATION = 3;
+    static final byte PARSE_ERROR = 4;
+    static final String[] STATUS = {"OK", "OVERFLOW", "DIVIDE_BY_ZERO", "BAD_OPERATION", "PARSE_ERROR"};
+
+    static final byte SUM = 1;
+    static final byte DIFFERENCE = 2;
+    static final byte QUOTIENT = 3;
+    static final byte MULTIPLICATION = 4;
+
+    private static final int BLOCK_RECORDS = 1 << 20;
+    private static final int IO_BUFFER_BYTES = 1 << 20;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && "--batch".equals(args[0])) {
+            batch(args);
+            return;
+        }
+        Scanner sc = new Scanner(System.in);
+        System.out.print("Enter The 1st number : ");
+        int a = sc.nextInt();
+        System.out.print("Enter The 2nd number : ");
+        int b = sc.nextInt();
+        System.out.print("Enter your choice : ");
+        int choice = sc.nextInt();
+        sc.close();
+        try {
+            switch (choice) {
+                case 1:
+                    System.out.println("sum is " + Math.addExact(a, b));
+                    break;
+                case 2:
+                    System.out.println("difference is " + Math.subtractExact(a, b));
+                    break;
+                case 3:
+                    if (b == 0) {
+                        System.out.println("cannot divide by zero");
+                    } else if (a == Integer.MIN_VALUE && b == -1) {
+                        System.out.println("quotient overflows int");
+                    } else {
+                        System.out.println("quotient is " + a / b);
+                    }
+                    break;
+                case 4:
+                    System.out.println("multiplication is " + Math.multiplyExact(a, b));
+            }
+        } catch (ArithmeticException e) {
+            System.out.println("result overflows int");
+        }
+
+    }
+
+    /** One block of records as parallel primitive arrays. */
+    static final class Block {
+        final int[] a = new int[BLOCK_RECORDS];
+        final int[] b = new int[BLOCK_RECORDS];
+        final byte[] op = new byte[BLOCK_RECORDS];
+        final int[] result = new int[BLOCK_RECORDS];
+        final byte[] status = new byte[BLOCK_RECORDS];
+        int size;
+    }
+
+    static void batch(String[] args) throws IOException {
+        String in = null;
+        String out = null;
+        boolean binary = false;
+        boolean parallel = false;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--out": out = args[++i]; break;
+                case "--binary": binary = true; break;
+                case "--parallel": parallel = true; break;
+                default: in = args[i];
+            }
+        }
+        if (in == null || out == null) {
+            System.err.println("usage: java arithmetic.java --batch IN.csv --out OUT [--binary] [--parallel]");
+            return;
+        }
+
+        long start = System.nanoTime();
+        long[] statusCounts = new long[STATUS.length];
+        long records = 0;
+        Block block = new Block();
+        try (RecordReader reader = new RecordReader(new FileInputStream(in));
+             FileChannel channel = FileChannel.open(Paths.get(out), StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ResultWriter writer = new ResultWriter(channel, binary);
+            while (reader.fill(block) > 0) {
+                evaluate(block, parallel);
+                writer.write(block);
+                for (int i = 0; i < block.size; i++) statusCounts[block.status[i]]++;
+                records += block.size;
+            }
+            writer.flush();
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%d records in %.3f s (%.1f M records/s)", records, seconds, records / seconds / 1e6));
+        for (int s = 0; s < STATUS.length; s++) {
+            report.append(s == 0 ? "; " : ", ").append(STATUS[s]).append('=').append(statusCounts[s]);
+        }
+        System.err.println(report);
+    }
+
+    static void evaluate(Block block, boolean parallel) {
+        int size = block.size;
+        if (!parallel) {
+            evaluate(block, 0, size);
+            return;
+        }
+        int slices = Runtime.getRuntime().availableProcessors() * 4;
+        int sliceSize = (size + slices - 1) / slices;
+        IntStream.range(0, slices).parallel()
+                .forEach(s -> evaluate(block, s * sliceSize, Math.min(size, (s + 1) * sliceSize)));
+    }
+
+    // Same semantics as Math.addExact/subtractExact/multiplyExact on ints: the operation is
+    // done exactly in long and flagged if it leaves int range, without throwing per record
+    static void evaluate(Block block, int from, int to) {
+        int[] a = block.a;
+        int[] b = block.b;
+        byte[] op = block.op;
+        int[] result = block.result;
+        byte[] status = block.status;
+        for (int i = from; i < to; i++) {
+            if (status[i] != OK) {
+                result[i] = 0;
+                continue;
+            }
+            long x = a[i];
+            long y = b[i];
+            long r;
+            switch (op[i]) {
+                case SUM: r = x + y; break;
+                case DIFFERENCE: r = x - y; break;
+                case MULTIPLICATION: r = x * y; break;
+                case QUOTIENT:
+                    if (y == 0) {
+                        status[i] = DIVIDE_BY_ZERO;
+                        result[i] = 0;
+                        continue;
+                    }
+                    r = x / y;
+                    break;
+                default:
+                    status[i] = BAD_OPERATION;
+                    result[i] = 0;
+                    continue;
+            }
+            if ((int) r != r) {
+                status[i] = OVERFLOW;
+                result[i] = 0;
+            } else {
+                result[i] = (int) r;
+            }
+        }
+    }
+
+    /** Byte-level CSV parser; never builds a String per line. */
+    static final class RecordReader implements Closeable {
+        private final InputStream in;
+        private final byte[] buf = new byte[IO_BUFFER_BYTES];
+        private int pos;
+        private int limit;
+
+        // Per-line parse state, carried across buffer refills
+        private int field;
+        private long value;
+        private boolean negative;
+        private boolean hasSign;
+        private boolean hasDigits;
+        private boolean bad;
+        private boolean lineStarted;
+        private int first;
+        private byte op;
+        private int opChars;
+        // Whitespace is allowed around a field but not inside it: " 1 2" is not 12
+        private boolean fieldStarted;
+        private boolean gapInField;
+
+        RecordReader(InputStream in) {
+            this.in = in;
+        }
+
+        int fill(Block block) throws IOException {
+            block.size = 0;
+            while (block.size < BLOCK_RECORDS) {
+                if (pos == limit) {
+                    limit = in.read(buf, 0, buf.length);
+                    pos = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        if (lineStarted) endLine(block);
+                        break;
+                    }
+                }
+                byte c = buf[pos++];
+                switch (c) {
+                    case '\n':
+                        if (lineStarted) endLine(block);
+                        break;
+                    case '\r': case ' ': case '\t':
+                        if (fieldStarted) gapInField = true;
+                        break;
+                    case ',':
+                        lineStarted = true;
+                        endField();
+                        break;
+                    default:
+                        lineStarted = true;
+                        if (gapInField) bad = true;
+                        fieldStarted = true;
+                        accept(c);
+                }
+            }
+            return block.size;
+        }
+
+        private void accept(byte c) {
+            if (field < 2) {
+                if (c >= '0' && c <= '9') {
+                    value = value * 10 + (c - '0');
+                    hasDigits = true;
+                    if (value > 2147483648L) bad = true;
+                } else if ((c == '-' || c == '+') && !hasDigits && !hasSign) {
+                    // At most one leading sign
+                    hasSign = true;
+                    negative = c == '-';
+                } else {
+                    bad = true;
+                }
+                return;
+            }
+            if (field > 2) {
+                bad = true;
+                return;
+            }
+            opChars++;
+            switch (c) {
+                case '1': case '+': op = SUM; break;
+                case '2': case '-': op = DIFFERENCE; break;
+                case '3': case '/': op = QUOTIENT; break;
+                case '4': case '*': case 'x': op = MULTIPLICATION; break;
+                default: op = 0;
+            }
+        }
+
+        private void endField() {
+            if (field < 2) {
+                long v = negative ? -value : value;
+                if (!hasDigits || v > Integer.MAX_VALUE || v < Integer.MIN_VALUE) bad = true;
+                if (field == 0) first = (int) v;
+                else value = v;
+            }
+            field++;
+            fieldStarted = false;
+            gapInField = false;
+            if (field < 2) {
+                value = 0;
+                negative = false;
+                hasSign = false;
+                hasDigits = false;
+            }
+        }
+
+        private void endLine(Block block) {
+            int i = block.size++;
+            if (field == 1) endField();
+            block.a[i] = first;
+            block.b[i] = (int) value;
+            block.op[i] = op;
+            if (bad || field != 2 || opChars == 0) {
+                block.status[i] = PARSE_ERROR;
+            } else if (opChars > 1 || op == 0) {
+                // A well-formed record with an unknown operator
+                block.status[i] = BAD_OPERATION;
+            } else {
+                block.status[i] = OK;
+            }
+
+            field = 0;
+            value = 0;
+            negative = false;
+            hasSign = false;
+            hasDigits = false;
+            bad = false;
+            lineStarted = false;
+            first = 0;
+            op = 0;
+            opChars = 0;
+            fieldStarted = false;
+            gapInField = false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    static final class ResultWriter {
+        private static final byte[][] STATUS_BYTES = new byte[STATUS.length][];
+
+        static {
+            for (int s = 0; s < STATUS.length; s++) STATUS_BYTES[s] = STATUS[s].getBytes();
+        }
+
+        private final FileChannel channel;
+        private final boolean binary;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(IO_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private final byte[] digits = new byte[11];
+
+        ResultWriter(FileChannel channel, boolean binary) {
+            this.channel = channel;
+            this.binary = binary;
+        }
+
+        void write(Block block) throws IOException {
+            for (int i = 0; i < block.size; i++) {
+                // Longest CSV line: "-2147483648," + "DIVIDE_BY_ZERO" + '\n'
+                if (buf.remaining() < 32) flush();
+                if (binary) {
+                    buf.putInt(block.result[i]).put(block.status[i]);
+                } else {
+                    putInt(block.result[i]);
+                    buf.put((byte) ',').put(STATUS_BYTES[block.status[i]]).put((byte) '\n');
+                }
+            }
+        }
+
+        private void putInt(int v) {
+            long n = v;
+            if (n < 0) {
+                buf.put((byte) '-');
+                n = -n;
+            }
+            int i = digits.length;
+            do {
+                digits[--i] = (byte) ('0' + n % 10);
+                n /= 10;
+            } while (n != 0);
+            buf.put(digits, i, digits.length - i);
+        }
+
+        void flush() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) channel.write(buf);
+            buf.clear();
+        }
+    }
+}
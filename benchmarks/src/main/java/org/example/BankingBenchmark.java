@@ -0,0 +1,36 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each operation emits one async structured log event; pass
+ * -jvmArgsAppend -Dportal.logDir=... to keep the log file off the working tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BankingBenchmark {
+
+    private BankingSystem bank;
+
+    @Setup
+    public void setup() throws BankingException {
+        bank = new BankingSystem(new InMemoryAccountRepository());
+        bank.createAccount("ACC-1", "Bench Holder", 1e15);
+    }
+
+    @Benchmark
+    public double deposit() throws BankingException {
+        return bank.deposit("ACC-1", 10);
+    }
+
+    @Benchmark
+    public double withdraw() throws BankingException {
+        return bank.withdraw("ACC-1", 10);
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.EmployeeManagementPortal;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.example.EmployeeManagementPortal.EmployeeManagementApp.Employee;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeBenchmark {
+
+    private Employee employee;
+    private Document document;
+    private LocalDate from;
+    private LocalDate to;
+
+    @Setup
+    public void setup() {
+        employee = new Employee("Ada Lovelace", "ada@example.org", "Engineering",
+                Arrays.asList("java", "mongodb", "kotlin"), LocalDate.of(2021, 6, 14));
+        employee.id = new ObjectId();
+        document = employee.toDocument();
+        from = LocalDate.of(2020, 1, 1);
+        to = LocalDate.of(2022, 12, 31);
+    }
+
+    @Benchmark
+    public Document toDocument() {
+        return employee.toDocument();
+    }
+
+    @Benchmark
+    public Employee fromDocument() {
+        return Employee.fromDocument(document);
+    }
+
+    @Benchmark
+    public Bson searchFilterAllCriteria() {
+        return MongoEmployeeRepository.searchFilter("ada", "Engineering", "java", from, to);
+    }
+
+    @Benchmark
+    public Bson searchFilterNameOnly() {
+        return MongoEmployeeRepository.searchFilter("ada", null, null, null, null);
+    }
+
+    @Benchmark
+    public List<Employee> inMemorySearch(InMemoryState state) {
+        return state.repository.search(null, "Engineering", "java", from, to);
+    }
+
+    @State(Scope.Benchmark)
+    public static class InMemoryState {
+        @Param({"100000"})
+        int employees;
+
+        InMemoryEmployeeRepository repository;
+
+        @Setup
+        public void setup() {
+            repository = new InMemoryEmployeeRepository();
+            EmployeeFixtures.generate(employees).forEach(repository::insert);
+        }
+    }
+}
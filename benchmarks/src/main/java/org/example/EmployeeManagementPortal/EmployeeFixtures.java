@@ -0,0 +1,35 @@
+package org.example.EmployeeManagementPortal;
+
+import org.bson.types.ObjectId;
+import org.example.EmployeeManagementPortal.EmployeeManagementApp.Employee;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+final class EmployeeFixtures {
+
+    private static final String[] DEPARTMENTS = {"Engineering", "Sales", "Finance", "Support", "Marketing"};
+    private static final String[] SKILLS = {"java", "mongodb", "sql", "python", "kotlin", "go", "excel"};
+
+    private EmployeeFixtures() {
+    }
+
+    // Deterministic, so runs are comparable
+    static List<Employee> generate(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate start = LocalDate.of(2010, 1, 1);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Employee e = new Employee("Employee " + i, "employee" + i + "@example.org",
+                    DEPARTMENTS[random.nextInt(DEPARTMENTS.length)],
+                    Arrays.asList(SKILLS[random.nextInt(SKILLS.length)], SKILLS[random.nextInt(SKILLS.length)]),
+                    start.plusDays(random.nextInt(5000)));
+            e.id = new ObjectId();
+            employees.add(e);
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.EmployeeManagementPortal;
+
+import org.example.EmployeeManagementPortal.EmployeeManagementApp.Employee;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.text.SimpleDateFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Printing a large result set: the original per-call SimpleDateFormat toString() with
+ * one println per employee, against printEmployees() with its shared formatter and
+ * reusable buffer. Run with -prof gc to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EmployeePrintBenchmark {
+
+    @Param({"1000000"})
+    int employees;
+
+    private List<Employee> list;
+    private PrintStream out;
+
+    @Setup
+    public void setup() {
+        list = EmployeeFixtures.generate(employees);
+        out = new PrintStream(new BufferedOutputStream(OutputStream.nullOutputStream(), 8192));
+    }
+
+    @Benchmark
+    public void legacyToStringPrintln() {
+        for (Employee e : list) {
+            out.println(legacyToString(e));
+        }
+        out.flush();
+    }
+
+    @Benchmark
+    public void printEmployees() {
+        EmployeeManagementApp.printEmployees(list, out);
+    }
+
+    // Employee.toString() as it was before the move to java.time
+    private static String legacyToString(Employee e) {
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
+        return "Employee{" +
+                "id=" + e.id +
+                ", name='" + e.name + '\'' +
+                ", email='" + e.email + '\'' +
+                ", department='" + e.department + '\'' +
+                ", skills=" + e.skills +
+                ", joiningDate=" + sdf.format(EmployeeManagementApp.toDate(e.joiningDate)) +
+                '}';
+    }
+}
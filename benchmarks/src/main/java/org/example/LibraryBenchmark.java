@@ -0,0 +1,52 @@
+package org.example;
+
+import org.bson.Document;
+import org.example.http.JsonWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LibraryBenchmark {
+
+    @Param({"10000"})
+    int books;
+
+    private LibraryManagementSystem library;
+
+    @Setup
+    public void setup() {
+        library = new LibraryManagementSystem(new InMemoryBookRepository());
+        for (int i = 0; i < books; i++) {
+            boolean fiction = i % 2 == 0;
+            library.addBook("Title " + i, "Author " + (i % 500), "978-" + i,
+                    fiction ? "Fiction" : "NonFiction", fiction ? "Fantasy" : "History");
+        }
+    }
+
+    @Benchmark
+    public List<Document> listBooks() {
+        return library.listBooks();
+    }
+
+    // The interactive menu's rendering path: one toJson String per book
+    @Benchmark
+    public void listBooksToJson(Blackhole bh) {
+        for (Document book : library.listBooks()) {
+            bh.consume(book.toJson());
+        }
+    }
+
+    // The HTTP path: every book streamed into one buffer
+    @Benchmark
+    public int listBooksJsonWriter() {
+        return new JsonWriter(new StringBuilder(books * 128)).value(library.listBooks()).length();
+    }
+}
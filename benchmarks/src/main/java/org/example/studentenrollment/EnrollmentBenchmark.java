@@ -0,0 +1,43 @@
+package org.example.studentenrollment;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnrollmentBenchmark {
+
+    @Param({"1000"})
+    int enrollments;
+
+    @Setup
+    public void setup() {
+        studentenroll.init(new InMemoryEnrollmentRepository());
+        List<ObjectId> students = new ArrayList<>();
+        List<ObjectId> courses = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            students.add(studentenroll.createStudent("Student " + i, "student" + i + "@example.org").getObjectId("_id"));
+        }
+        for (int i = 0; i < 40; i++) {
+            courses.add(studentenroll.createCourse("Course " + i, "Description " + i).getObjectId("_id"));
+        }
+        // Half embedded, half referenced, so both resolution paths are exercised
+        for (int i = 0; i < enrollments; i++) {
+            studentenroll.enroll(students.get(i % students.size()), courses.get(i % courses.size()), i % 2 == 0);
+        }
+    }
+
+    @Benchmark
+    public List<Document> resolveEnrollments() {
+        return studentenroll.resolveEnrollments();
+    }
+}
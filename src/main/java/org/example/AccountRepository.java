@@ -0,0 +1,30 @@
+package org.example;
+
+import org.bson.Document;
+
+import java.util.List;
+
+/**
+ * Storage for bank accounts, keyed by account number. Accounts are documents with
+ * accountNumber, accountHolder and balance fields.
+ */
+public interface AccountRepository {
+
+    // Returns null when no account has this number
+    Document find(String accountNumber);
+
+    // Returns false when an account with the same number already exists
+    boolean insert(Document account);
+
+    /**
+     * Atomically adds delta (negative to withdraw) to the balance and returns the new
+     * balance. Returns null, changing nothing, when the account does not exist or the
+     * balance would go below zero.
+     */
+    Double addToBalance(String accountNumber, double delta);
+
+    // Bulk load for seeding; callers guarantee the account numbers are new
+    default void insertAll(List<Document> accounts) {
+        for (Document account : accounts) insert(account);
+    }
+}
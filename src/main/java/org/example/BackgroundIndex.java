@@ -0,0 +1,82 @@
+package org.example;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoServerException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * An index a repository depends on, built on a background thread so constructing the
+ * repository never waits on the server. Writes that rely on the index (unique keys) call
+ * {@link #await()} first; a failed build is retried by the next such call. Each repository
+ * owns its own instance, so the build always targets that repository's client and collection.
+ *
+ * A unique index cannot be built over data that already holds duplicate keys. That is logged
+ * once and never retried, and {@link #await()} then reports the index as missing instead of
+ * failing every write.
+ */
+public class BackgroundIndex {
+
+    private static final Logger log = LogManager.getLogger(BackgroundIndex.class);
+
+    private static final Executor BUILDER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "mongo-index-builder");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final MongoCollection<Document> collection;
+    private final Bson keys;
+    private final IndexOptions options;
+    private CompletableFuture<Void> build;
+    private volatile boolean blockedByDuplicates;
+
+    public BackgroundIndex(MongoCollection<Document> collection, Bson keys, IndexOptions options) {
+        this.collection = collection;
+        this.keys = keys;
+        this.options = options;
+        start();
+    }
+
+    private synchronized CompletableFuture<Void> start() {
+        if (build == null || build.isCompletedExceptionally()) {
+            build = CompletableFuture.runAsync(this::create, BUILDER);
+        }
+        return build;
+    }
+
+    private void create() {
+        try {
+            collection.createIndex(keys, options);
+        } catch (MongoServerException e) {
+            if (ErrorCategory.fromErrorCode(e.getCode()) != ErrorCategory.DUPLICATE_KEY) throw e;
+            blockedByDuplicates = true;
+            log.error("Unique index {} on {} cannot be built: the collection already holds duplicate values. "
+                    + "Clean them up and restart; until then uniqueness is only checked before each write. {}",
+                    keys.toBsonDocument().toJson(), collection.getNamespace(), e.getMessage());
+        }
+    }
+
+    /**
+     * Waits for the build. Returns false when existing duplicate values keep the unique index
+     * from being built, in which case the caller has to check for an existing key itself.
+     */
+    public boolean await() {
+        try {
+            start().join();
+            return !blockedByDuplicates;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package org.example;
+
+public class BankingException extends Exception {
+    public BankingException(String message) {
+        super(message);
+    }
+}
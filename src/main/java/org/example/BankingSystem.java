@@ -1,68 +1,78 @@
 package org.example;
 
 import com.mongodb.client.*;
-import com.mongodb.client.model.Filters;
 import org.bson.Document;
+import org.example.metrics.MongoMetrics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import java.util.Scanner;
 
-class BankingException extends Exception {
-    public BankingException(String message) {
-        super(message);
-    }
-}
+import static org.apache.logging.log4j.util.Unbox.box;
 
 public class BankingSystem {
 
-    private final MongoCollection<Document> accountsCollection;
+    private static final Logger log = LogManager.getLogger(BankingSystem.class);
+
+    private final AccountRepository accounts;
 
     public BankingSystem() {
-        MongoClient client = MongoClients.create("mongodb://localhost:27017");
+        MongoClient client = MongoMetrics.shared().createClient("mongodb://localhost:27017");
         MongoDatabase database = client.getDatabase("banking_system");
-        this.accountsCollection = database.getCollection("accounts");
+        this.accounts = new MongoAccountRepository(database.getCollection("accounts"));
+    }
+
+    public BankingSystem(MongoCollection<Document> accountsCollection) {
+        this(new MongoAccountRepository(accountsCollection));
+    }
+
+    public BankingSystem(AccountRepository accounts) {
+        this.accounts = accounts;
     }
 
     public void createAccount(String accountNumber, String accountHolder, double initialBalance) throws BankingException {
+        long start = System.nanoTime();
         if (initialBalance < 0)
             throw new BankingException("Initial balance cannot be negative.");
 
-        Document existing = accountsCollection.find(Filters.eq("accountNumber", accountNumber)).first();
-        if (existing != null)
-            throw new BankingException("Account with this number already exists.");
-
         Document account = new Document("accountNumber", accountNumber)
                 .append("accountHolder", accountHolder)
                 .append("balance", initialBalance);
-        accountsCollection.insertOne(account);
-        System.out.println("✅ Account created successfully.");
+        if (!accounts.insert(account))
+            throw new BankingException("Account with this number already exists.");
+        log.info("event=account_created account={} balance={} latencyUs={}",
+                accountNumber, box(initialBalance), box(micros(start)));
     }
 
-    public void deposit(String accountNumber, double amount) throws BankingException {
+    public double deposit(String accountNumber, double amount) throws BankingException {
+        long start = System.nanoTime();
         if (amount <= 0)
             throw new BankingException("Deposit amount must be positive.");
 
-        Document account = getAccount(accountNumber);
-        double newBalance = account.getDouble("balance") + amount;
-
-        accountsCollection.updateOne(Filters.eq("accountNumber", accountNumber),
-                new Document("$set", new Document("balance", newBalance)));
-        System.out.println("✅ Deposit successful. New balance: $" + newBalance);
+        Double newBalance = accounts.addToBalance(accountNumber, amount);
+        if (newBalance == null)
+            throw new BankingException("Account not found with number: " + accountNumber);
+        log.info("event=deposit account={} amount={} balance={} latencyUs={}",
+                accountNumber, box(amount), box(newBalance), box(micros(start)));
+        return newBalance;
     }
 
-    public void withdraw(String accountNumber, double amount) throws BankingException {
+    public double withdraw(String accountNumber, double amount) throws BankingException {
+        long start = System.nanoTime();
         if (amount <= 0)
             throw new BankingException("Withdrawal amount must be positive.");
 
-        Document account = getAccount(accountNumber);
-        double currentBalance = account.getDouble("balance");
-        if (currentBalance < amount)
+        Double newBalance = accounts.addToBalance(accountNumber, -amount);
+        if (newBalance == null) {
+            // Rejected: either there is no such account (getAccount throws) or too little in it
+            double currentBalance = getAccount(accountNumber).getDouble("balance");
             throw new BankingException("Insufficient funds. Current balance: $" + currentBalance);
-
-        double newBalance = currentBalance - amount;
-        accountsCollection.updateOne(Filters.eq("accountNumber", accountNumber),
-                new Document("$set", new Document("balance", newBalance)));
-        System.out.println("✅ Withdrawal successful. New balance: $" + newBalance);
+        }
+        log.info("event=withdrawal account={} amount={} balance={} latencyUs={}",
+                accountNumber, box(amount), box(newBalance), box(micros(start)));
+        return newBalance;
     }
 
+    // Console rendering for the interactive menu
     public void checkBalance(String accountNumber) throws BankingException {
         Document account = getAccount(accountNumber);
         System.out.println("💰 Account Holder: " + account.getString("accountHolder"));
@@ -70,13 +80,21 @@ public class BankingSystem {
         System.out.println("📄 Balance: $" + account.getDouble("balance"));
     }
 
-    private Document getAccount(String accountNumber) throws BankingException {
-        Document account = accountsCollection.find(Filters.eq("accountNumber", accountNumber)).first();
+    public double getBalance(String accountNumber) throws BankingException {
+        return getAccount(accountNumber).getDouble("balance");
+    }
+
+    public Document getAccount(String accountNumber) throws BankingException {
+        Document account = accounts.find(accountNumber);
         if (account == null)
             throw new BankingException("Account not found with number: " + accountNumber);
         return account;
     }
 
+    private static long micros(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1000;
+    }
+
     public static void main(String[] args) {
         BankingSystem bank = new BankingSystem();
         Scanner scanner = new Scanner(System.in);
@@ -102,20 +120,21 @@ public class BankingSystem {
                         System.out.print("Enter initial balance: ");
                         double initBal = scanner.nextDouble();
                         bank.createAccount(accNum, holder, initBal);
+                        System.out.println("✅ Account created successfully.");
                         break;
                     case 2:
                         System.out.print("Enter account number: ");
                         String depAcc = scanner.nextLine();
                         System.out.print("Enter deposit amount: ");
                         double depAmt = scanner.nextDouble();
-                        bank.deposit(depAcc, depAmt);
+                        System.out.println("✅ Deposit successful. New balance: $" + bank.deposit(depAcc, depAmt));
                         break;
                     case 3:
                         System.out.print("Enter account number: ");
                         String witAcc = scanner.nextLine();
                         System.out.print("Enter withdrawal amount: ");
                         double witAmt = scanner.nextDouble();
-                        bank.withdraw(witAcc, witAmt);
+                        System.out.println("✅ Withdrawal successful. New balance: $" + bank.withdraw(witAcc, witAmt));
                         break;
                     case 4:
                         System.out.print("Enter account number: ");
@@ -0,0 +1,27 @@
+package org.example;
+
+import org.bson.Document;
+
+import java.util.List;
+
+/**
+ * Storage for library books. ISBN is not unique; updates and deletes by ISBN affect the
+ * first matching book, as with Mongo's updateOne/deleteOne.
+ */
+public interface BookRepository {
+
+    void insert(Document book);
+
+    List<Document> findAll();
+
+    // Books in insertion order; page is 1-based
+    List<Document> findPage(int page, int pageSize);
+
+    boolean updateTitle(String isbn, String newTitle);
+
+    boolean deleteByIsbn(String isbn);
+
+    default void insertAll(List<Document> books) {
+        for (Document book : books) insert(book);
+    }
+}
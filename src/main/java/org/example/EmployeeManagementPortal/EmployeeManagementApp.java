@@ -1,25 +1,39 @@
 package org.example.EmployeeManagementPortal;
 import com.mongodb.client.*;
-import com.mongodb.client.model.*;
-import com.mongodb.client.result.DeleteResult;
-import com.mongodb.client.result.UpdateResult;
 import org.bson.Document;
-import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
-
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import org.example.metrics.MongoMetrics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
 import java.util.*;
-import java.util.stream.Collectors;
+
+import static org.apache.logging.log4j.util.Unbox.box;
 
 public class EmployeeManagementApp {
 
-    private final MongoCollection<Document> collection;
+    private static final Logger log = LogManager.getLogger(EmployeeManagementApp.class);
+
+    // DateTimeFormatter is immutable and thread-safe, so one shared instance serves every caller
+    static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE;
+    // Input also accepts unpadded months and days ("2024-1-5"), as the old SimpleDateFormat did
+    static final DateTimeFormatter DATE_INPUT = DateTimeFormatter.ofPattern("uuuu-M-d")
+            .withResolverStyle(ResolverStyle.STRICT);
+
+    private final EmployeeRepository repository;
+
+    public EmployeeManagementApp(EmployeeRepository repository) {
+        this.repository = repository;
+    }
 
     public EmployeeManagementApp(MongoCollection<Document> collection) {
-        this.collection = collection;
-        // Create unique index on email field
-        collection.createIndex(Indexes.ascending("email"), new IndexOptions().unique(true));
+        this(new MongoEmployeeRepository(collection));
     }
 
     public static class Employee {
@@ -28,9 +42,9 @@ public class EmployeeManagementApp {
         String email;
         String department;
         List<String> skills;
-        Date joiningDate;
+        LocalDate joiningDate;
 
-        public Employee(String name, String email, String department, List<String> skills, Date joiningDate) {
+        public Employee(String name, String email, String department, List<String> skills, LocalDate joiningDate) {
             this.name = name;
             this.email = email;
             this.department = department;
@@ -38,6 +52,13 @@ public class EmployeeManagementApp {
             this.joiningDate = joiningDate;
         }
 
+        public ObjectId getId() { return id; }
+        public String getName() { return name; }
+        public String getEmail() { return email; }
+        public String getDepartment() { return department; }
+        public List<String> getSkills() { return skills; }
+        public LocalDate getJoiningDate() { return joiningDate; }
+
         Document toDocument() {
             Document doc = new Document();
             if (id != null) doc.append("_id", id);
@@ -45,7 +66,7 @@ public class EmployeeManagementApp {
                     .append("email", email)
                     .append("department", department)
                     .append("skills", skills)
-                    .append("joiningDate", joiningDate);
+                    .append("joiningDate", toDate(joiningDate));
             return doc;
         }
 
@@ -55,7 +76,7 @@ public class EmployeeManagementApp {
                     doc.getString("email"),
                     doc.getString("department"),
                     (List<String>) doc.get("skills"),
-                    doc.getDate("joiningDate")
+                    toLocalDate(doc.getDate("joiningDate"))
             );
             e.id = doc.getObjectId("_id");
             return e;
@@ -63,136 +84,123 @@ public class EmployeeManagementApp {
 
         @Override
         public String toString() {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-            return "Employee{" +
-                    "id=" + id +
-                    ", name='" + name + '\'' +
-                    ", email='" + email + '\'' +
-                    ", department='" + department + '\'' +
-                    ", skills=" + skills +
-                    ", joiningDate=" + sdf.format(joiningDate) +
-                    '}';
+            return appendTo(new StringBuilder(128)).toString();
         }
+
+        // Writes the same text as toString() into a caller-owned buffer, so printing many
+        // employees can reuse one StringBuilder instead of building a String per field
+        StringBuilder appendTo(StringBuilder sb) {
+            sb.append("Employee{id=").append(id)
+                    .append(", name='").append(name).append('\'')
+                    .append(", email='").append(email).append('\'')
+                    .append(", department='").append(department).append('\'')
+                    .append(", skills=").append(skills)
+                    .append(", joiningDate=");
+            if (joiningDate != null) {
+                DATE_FORMAT.formatTo(joiningDate, sb);
+            } else {
+                sb.append("null");
+            }
+            return sb.append('}');
+        }
+    }
+
+    // Stored dates are midnight in the JVM's default zone, as SimpleDateFormat always wrote
+    // them, so existing records and date-range filters keep their meaning
+    public static Date toDate(LocalDate date) {
+        return date == null ? null : Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    static LocalDate toLocalDate(Date date) {
+        return date == null ? null : date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    public static LocalDate parseDate(String input) {
+        return LocalDate.parse(input.trim(), DATE_INPUT);
+    }
+
+    // Prints a result set through one reusable buffer, flushing in large chunks
+    static void printEmployees(Iterable<Employee> employees, PrintStream out) {
+        StringBuilder sb = new StringBuilder(8192);
+        for (Employee emp : employees) {
+            emp.appendTo(sb).append(System.lineSeparator());
+            if (sb.length() >= 8192) {
+                out.print(sb);
+                sb.setLength(0);
+            }
+        }
+        out.print(sb);
+        out.flush();
     }
 
     // 1. Add Employee
     public boolean addEmployee(Employee e) {
-        if (collection.find(Filters.eq("email", e.email)).first() != null) {
-            System.out.println("Employee with this email already exists.");
-            return false;
+        long start = System.nanoTime();
+        // Assigned up front so the event can name the record; emails stay out of the log.
+        // A rejected insert leaves the caller's employee as it was.
+        ObjectId givenId = e.id;
+        if (e.id == null) e.id = new ObjectId();
+        boolean added = false;
+        try {
+            added = repository.insert(e);
+        } finally {
+            if (!added) e.id = givenId;
         }
-        collection.insertOne(e.toDocument());
-        System.out.println("Employee added.");
-        return true;
+        if (added) {
+            log.info("event=employee_added id={} department={} latencyUs={}", e.id, e.department, box(micros(start)));
+        } else {
+            log.info("event=employee_rejected reason=email_dup department={} latencyUs={}", e.department, box(micros(start)));
+        }
+        return added;
     }
 
     // 2. Update Employee
     public boolean updateEmployee(String email, Map<String, Object> fieldsToUpdate) {
         if (fieldsToUpdate.isEmpty()) return false;
-
-        List<Bson> updates = fieldsToUpdate.entrySet().stream()
-                .map(entry -> Updates.set(entry.getKey(), entry.getValue()))
-                .collect(Collectors.toList());
-
-        UpdateResult result = collection.updateOne(Filters.eq("email", email), Updates.combine(updates));
-        if (result.getMatchedCount() == 0) {
-            System.out.println("No employee found with email: " + email);
-            return false;
-        }
-        System.out.println("Employee updated.");
-        return true;
+        long start = System.nanoTime();
+        ObjectId id = repository.update(email, fieldsToUpdate);
+        log.info("event=employee_updated id={} fields={} matched={} latencyUs={}",
+                id, fieldsToUpdate.keySet(), id != null, box(micros(start)));
+        return id != null;
     }
 
     // 3. Delete Employee by email
     public boolean deleteEmployeeByEmail(String email) {
-        DeleteResult result = collection.deleteOne(Filters.eq("email", email));
-        if (result.getDeletedCount() == 0) {
-            System.out.println("No employee found with email: " + email);
-            return false;
-        }
-        System.out.println("Employee deleted.");
-        return true;
+        long start = System.nanoTime();
+        ObjectId id = repository.deleteByEmail(email);
+        log.info("event=employee_deleted id={} matched={} latencyUs={}", id, id != null, box(micros(start)));
+        return id != null;
     }
 
     // Delete Employee by MongoDB ObjectId
     public boolean deleteEmployeeById(String id) {
-        ObjectId objId;
-        try {
-            objId = new ObjectId(id);
-        } catch (IllegalArgumentException e) {
-            System.out.println("Invalid ObjectId format.");
-            return false;
-        }
-        DeleteResult result = collection.deleteOne(Filters.eq("_id", objId));
-        if (result.getDeletedCount() == 0) {
-            System.out.println("No employee found with ID: " + id);
-            return false;
-        }
-        System.out.println("Employee deleted.");
-        return true;
+        if (!ObjectId.isValid(id)) return false;
+        long start = System.nanoTime();
+        boolean deleted = repository.deleteById(new ObjectId(id));
+        log.info("event=employee_deleted id={} matched={} latencyUs={}", id, deleted, box(micros(start)));
+        return deleted;
     }
 
     // 4. Search Employees
-    public List<Employee> searchEmployees(String name, String department, String skill, Date fromDate, Date toDate) {
-        List<Bson> filters = new ArrayList<>();
-
-        if (name != null && !name.isBlank()) {
-            filters.add(Filters.regex("name", ".*" + name + ".*", "i"));
-        }
-        if (department != null && !department.isBlank()) {
-            filters.add(Filters.eq("department", department));
-        }
-        if (skill != null && !skill.isBlank()) {
-            filters.add(Filters.in("skills", skill));
-        }
-        if (fromDate != null && toDate != null) {
-            filters.add(Filters.and(Filters.gte("joiningDate", fromDate), Filters.lte("joiningDate", toDate)));
-        }
-
-        Bson combinedFilter = filters.isEmpty() ? new Document() : Filters.and(filters);
-
-        FindIterable<Document> docs = collection.find(combinedFilter);
-        List<Employee> employees = new ArrayList<>();
-        for (Document doc : docs) {
-            employees.add(Employee.fromDocument(doc));
-        }
-        return employees;
+    public List<Employee> searchEmployees(String name, String department, String skill, LocalDate fromDate, LocalDate toDate) {
+        long start = System.nanoTime();
+        List<Employee> found = repository.search(name, department, skill, fromDate, toDate);
+        log.debug("event=employee_search results={} latencyUs={}", box(found.size()), box(micros(start)));
+        return found;
     }
 
     // 5. List Employees with Pagination and Sorting
     public List<Employee> listEmployees(int page, int pageSize, String sortBy, boolean ascending) {
-        Bson sortOrder;
-        if ("joiningDate".equalsIgnoreCase(sortBy)) {
-            sortOrder = ascending ? Sorts.ascending("joiningDate") : Sorts.descending("joiningDate");
-        } else {
-            // Default sort by name
-            sortOrder = ascending ? Sorts.ascending("name") : Sorts.descending("name");
-        }
-
-        FindIterable<Document> docs = collection.find()
-                .sort(sortOrder)
-                .skip((page - 1) * pageSize)
-                .limit(pageSize);
-
-        List<Employee> employees = new ArrayList<>();
-        for (Document doc : docs) {
-            employees.add(Employee.fromDocument(doc));
-        }
-        return employees;
+        return repository.list(page, pageSize, sortBy, ascending);
     }
 
     // 6. Department Statistics Aggregation
     public Map<String, Integer> getDepartmentStats() {
-        List<Bson> pipeline = Collections.singletonList(
-                Aggregates.group("$department", Accumulators.sum("count", 1))
-        );
-
-        AggregateIterable<Document> results = collection.aggregate(pipeline);
-        Map<String, Integer> stats = new HashMap<>();
-        for (Document doc : results) {
-            stats.put(doc.getString("_id"), doc.getInteger("count"));
-        }
-        return stats;
+        return repository.countByDepartment();
+    }
+
+    private static long micros(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1000;
     }
 
     // Helper method to parse skills from comma separated string
@@ -207,15 +215,14 @@ public class EmployeeManagementApp {
     }
 
     // CLI program entry point
-    public static void main(String[] args) throws ParseException {
-        try (MongoClient client = MongoClients.create("mongodb://localhost:27017")) {
+    public static void main(String[] args) {
+        try (MongoClient client = MongoMetrics.shared().createClient("mongodb://localhost:27017")) {
             MongoDatabase database = client.getDatabase("employee_db");
             MongoCollection<Document> collection = database.getCollection("employees");
 
             EmployeeManagementApp app = new EmployeeManagementApp(collection);
 
             Scanner scanner = new Scanner(System.in);
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
 
             while (true) {
                 System.out.println("\nEmployee Management Portal:");
@@ -243,16 +250,20 @@ public class EmployeeManagementApp {
                         System.out.print("Joining Date (yyyy-MM-dd): ");
                         String dateInput = scanner.nextLine();
 
-                        Date joiningDate;
+                        LocalDate joiningDate;
                         try {
-                            joiningDate = sdf.parse(dateInput);
-                        } catch (ParseException e) {
+                            joiningDate = parseDate(dateInput);
+                        } catch (DateTimeParseException e) {
                             System.out.println("Invalid date format.");
                             break;
                         }
 
                         Employee employee = new Employee(name, email, dept, parseSkills(skillsInput), joiningDate);
-                        app.addEmployee(employee);
+                        if (app.addEmployee(employee)) {
+                            System.out.println("Employee added.");
+                        } else {
+                            System.out.println("Employee with this email already exists.");
+                        }
                         break;
 
                     case "2":
@@ -274,14 +285,19 @@ public class EmployeeManagementApp {
                         String newDateInput = scanner.nextLine();
                         if (!newDateInput.isBlank()) {
                             try {
-                                Date newDate = sdf.parse(newDateInput);
-                                updates.put("joiningDate", newDate);
-                            } catch (ParseException e) {
+                                updates.put("joiningDate", parseDate(newDateInput));
+                            } catch (DateTimeParseException e) {
                                 System.out.println("Invalid date format, skipping joiningDate update.");
                             }
                         }
 
-                        app.updateEmployee(updateEmail, updates);
+                        if (updates.isEmpty()) {
+                            System.out.println("Nothing to update.");
+                        } else if (app.updateEmployee(updateEmail, updates)) {
+                            System.out.println("Employee updated.");
+                        } else {
+                            System.out.println("No employee found with email: " + updateEmail);
+                        }
                         break;
 
                     case "3":
@@ -290,11 +306,21 @@ public class EmployeeManagementApp {
                         if ("1".equals(delOpt)) {
                             System.out.print("Enter email: ");
                             String delEmail = scanner.nextLine();
-                            app.deleteEmployeeByEmail(delEmail);
+                            if (app.deleteEmployeeByEmail(delEmail)) {
+                                System.out.println("Employee deleted.");
+                            } else {
+                                System.out.println("No employee found with email: " + delEmail);
+                            }
                         } else if ("2".equals(delOpt)) {
                             System.out.print("Enter employee ID: ");
                             String delId = scanner.nextLine();
-                            app.deleteEmployeeById(delId);
+                            if (!ObjectId.isValid(delId)) {
+                                System.out.println("Invalid ObjectId format.");
+                            } else if (app.deleteEmployeeById(delId)) {
+                                System.out.println("Employee deleted.");
+                            } else {
+                                System.out.println("No employee found with ID: " + delId);
+                            }
                         } else {
                             System.out.println("Invalid option.");
                         }
@@ -316,11 +342,11 @@ public class EmployeeManagementApp {
                         System.out.print("Joining Date To (yyyy-MM-dd): ");
                         String toDateStr = scanner.nextLine();
 
-                        Date fromDate = null, toDate = null;
+                        LocalDate fromDate = null, toDate = null;
                         try {
-                            if (!fromDateStr.isBlank()) fromDate = sdf.parse(fromDateStr);
-                            if (!toDateStr.isBlank()) toDate = sdf.parse(toDateStr);
-                        } catch (ParseException e) {
+                            if (!fromDateStr.isBlank()) fromDate = parseDate(fromDateStr);
+                            if (!toDateStr.isBlank()) toDate = parseDate(toDateStr);
+                        } catch (DateTimeParseException e) {
                             System.out.println("Invalid date format.");
                             break;
                         }
@@ -334,9 +360,7 @@ public class EmployeeManagementApp {
                         );
 
                         System.out.println("Search Results:");
-                        for (Employee emp : found) {
-                            System.out.println(emp);
-                        }
+                        printEmployees(found, System.out);
                         break;
 
                     case "5":
@@ -349,9 +373,7 @@ public class EmployeeManagementApp {
 
                         List<Employee> pageResults = app.listEmployees(page, 5, sortBy, asc);
                         System.out.println("Page " + page + " results:");
-                        for (Employee emp : pageResults) {
-                            System.out.println(emp);
-                        }
+                        printEmployees(pageResults, System.out);
                         break;
 
                     case "6":
@@ -0,0 +1,38 @@
+package org.example.EmployeeManagementPortal;
+
+import org.bson.types.ObjectId;
+import org.example.EmployeeManagementPortal.EmployeeManagementApp.Employee;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage for employees. Email is unique. Update values use the Employee field names;
+ * joiningDate values are {@link LocalDate}s.
+ */
+public interface EmployeeRepository {
+
+    // Returns false when an employee with the same email already exists
+    boolean insert(Employee e);
+
+    // Both return the id of the matched employee, or null when no employee has this email
+    ObjectId update(String email, Map<String, Object> fieldsToUpdate);
+
+    ObjectId deleteByEmail(String email);
+
+    boolean deleteById(ObjectId id);
+
+    // Null or blank criteria are ignored; name is a case-insensitive regex match
+    List<Employee> search(String name, String department, String skill, LocalDate fromDate, LocalDate toDate);
+
+    // sortBy is "joiningDate" or anything else for name; page is 1-based
+    List<Employee> list(int page, int pageSize, String sortBy, boolean ascending);
+
+    Map<String, Integer> countByDepartment();
+
+    // Bulk load for seeding; callers guarantee the emails are new
+    default void insertAll(List<Employee> employees) {
+        for (Employee e : employees) insert(e);
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.EmployeeManagementPortal;
+
+import org.example.EmployeeManagementPortal.EmployeeManagementApp.Employee;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking facade over {@link EmployeeManagementApp} for concurrent front ends.
+ * Every call returns immediately with a {@link CompletableFuture}; the blocking driver
+ * call runs on the worker pool. At most {@code maxInFlight} requests are admitted at
+ * once and further calls fail fast with a {@link RejectedExecutionException}.
+ */
+public class EmployeeService implements AutoCloseable {
+
+    private final EmployeeManagementApp app;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public EmployeeService(EmployeeManagementApp app, ExecutorService executor, int maxInFlight) {
+        this(app, executor, maxInFlight, false);
+    }
+
+    // Sized to the driver's default connection pool (100), since each worker holds one
+    // connection while blocked; a larger pool would only queue inside the driver
+    public EmployeeService(EmployeeManagementApp app, int maxInFlight) {
+        this(app, Executors.newFixedThreadPool(100, workerThreadFactory()), maxInFlight, true);
+    }
+
+    private EmployeeService(EmployeeManagementApp app, ExecutorService executor, int maxInFlight, boolean ownsExecutor) {
+        if (maxInFlight <= 0) throw new IllegalArgumentException("maxInFlight must be positive.");
+        this.app = app;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    public CompletableFuture<Boolean> addEmployee(Employee e) {
+        return submit(() -> app.addEmployee(e));
+    }
+
+    public CompletableFuture<Boolean> updateEmployee(String email, Map<String, Object> fieldsToUpdate) {
+        return submit(() -> app.updateEmployee(email, fieldsToUpdate));
+    }
+
+    public CompletableFuture<Boolean> deleteEmployeeByEmail(String email) {
+        return submit(() -> app.deleteEmployeeByEmail(email));
+    }
+
+    public CompletableFuture<Boolean> deleteEmployeeById(String id) {
+        return submit(() -> app.deleteEmployeeById(id));
+    }
+
+    public CompletableFuture<List<Employee>> searchEmployees(String name, String department, String skill,
+                                                             LocalDate fromDate, LocalDate toDate) {
+        return submit(() -> app.searchEmployees(name, department, skill, fromDate, toDate));
+    }
+
+    public CompletableFuture<List<Employee>> listEmployees(int page, int pageSize, String sortBy, boolean ascending) {
+        return submit(() -> app.listEmployees(page, pageSize, sortBy, ascending));
+    }
+
+    public CompletableFuture<Map<String, Integer>> getDepartmentStats() {
+        return submit(app::getDepartmentStats);
+    }
+
+    // Same line format as the rest of GET /metrics
+    public void appendText(StringBuilder sb) {
+        sb.append("employee_in_flight ").append(maxInFlight - inFlight.availablePermits()).append('\n');
+        sb.append("employee_max_in_flight ").append(maxInFlight).append('\n');
+        sb.append("employee_rejected ").append(rejected.get()).append('\n');
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        if (!inFlight.tryAcquire()) {
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Too many requests in flight."));
+        }
+        // The task releases the permit once the call has returned, so cancelling the future
+        // cannot free a slot while the driver call is still running. It does so before
+        // completing the future, so a caller that chains its next request sees the slot free.
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                T result = null;
+                Throwable error = null;
+                try {
+                    if (!future.isDone()) result = call.get();
+                } catch (Throwable t) {
+                    error = t;
+                } finally {
+                    inFlight.release();
+                }
+                if (error != null) future.completeExceptionally(error);
+                else future.complete(result);
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            return CompletableFuture.failedFuture(e);
+        }
+        return future;
+    }
+
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "employee-service-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    @Override
+    public void close() {
+        if (ownsExecutor) executor.shutdown();
+    }
+}
@@ -0,0 +1,222 @@
+package org.example.EmployeeManagementPortal;
+
+import org.bson.types.ObjectId;
+import org.example.EmployeeManagementPortal.EmployeeManagementApp.Employee;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Embedded employee store. Hash indexes serve email, id and department lookups; sorted
+ * skip-list indexes on name and joiningDate serve ordered pages and date-range searches
+ * without scanning. Stored records are never mutated (updates replace them), so reads run
+ * lock-free while writes are serialized to keep the indexes consistent with each other.
+ */
+public class InMemoryEmployeeRepository implements EmployeeRepository {
+
+    // Concurrent maps reject null keys, so missing names and departments index under this
+    private static final String NULL_KEY = "\u0000";
+
+    private final ConcurrentMap<ObjectId, Employee> byId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ObjectId> byEmail = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<ObjectId>> byDepartment = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<String, Set<ObjectId>> byName = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<LocalDate, Set<ObjectId>> byJoiningDate = new ConcurrentSkipListMap<>();
+    // Employees without a joining date still appear in date-sorted pages, first when ascending
+    private final Set<ObjectId> withoutJoiningDate = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public synchronized boolean insert(Employee e) {
+        if (byEmail.containsKey(key(e.email))) return false;
+        Employee stored = copy(e);
+        if (stored.id == null) stored.id = new ObjectId();
+        index(stored);
+        return true;
+    }
+
+    @Override
+    public synchronized ObjectId update(String email, Map<String, Object> fieldsToUpdate) {
+        ObjectId id = byEmail.get(key(email));
+        if (id == null) return null;
+        Employee current = byId.get(id);
+        Employee updated = copy(current);
+        for (Map.Entry<String, Object> entry : fieldsToUpdate.entrySet()) {
+            apply(updated, entry.getKey(), entry.getValue());
+        }
+        if (!Objects.equals(current.email, updated.email) && byEmail.containsKey(key(updated.email))) {
+            throw new IllegalArgumentException("Employee with this email already exists.");
+        }
+        unindex(current);
+        index(updated);
+        return id;
+    }
+
+    @Override
+    public synchronized ObjectId deleteByEmail(String email) {
+        ObjectId id = byEmail.get(key(email));
+        if (id == null) return null;
+        unindex(byId.get(id));
+        return id;
+    }
+
+    @Override
+    public synchronized boolean deleteById(ObjectId id) {
+        Employee current = byId.get(id);
+        if (current == null) return false;
+        unindex(current);
+        return true;
+    }
+
+    @Override
+    public List<Employee> search(String name, String department, String skill, LocalDate fromDate, LocalDate toDate) {
+        boolean hasName = name != null && !name.isBlank();
+        boolean hasDept = department != null && !department.isBlank();
+        boolean hasSkill = skill != null && !skill.isBlank();
+        boolean hasDate = fromDate != null && toDate != null;
+        Pattern namePattern = hasName ? Pattern.compile(name, Pattern.CASE_INSENSITIVE) : null;
+
+        // Drive the scan from the narrowest index available, then filter on the rest
+        Iterable<ObjectId> candidates;
+        if (hasDept) {
+            candidates = byDepartment.getOrDefault(department, Collections.emptySet());
+        } else if (hasDate) {
+            if (fromDate.isAfter(toDate)) return new ArrayList<>();
+            candidates = flatten(byJoiningDate.subMap(fromDate, true, toDate, true).values());
+        } else {
+            candidates = byId.keySet();
+        }
+
+        List<Employee> employees = new ArrayList<>();
+        for (ObjectId id : candidates) {
+            Employee e = byId.get(id);
+            if (e == null) continue;
+            if (hasDept && !department.equals(e.department)) continue;
+            if (hasDate && (e.joiningDate == null || e.joiningDate.isBefore(fromDate) || e.joiningDate.isAfter(toDate))) continue;
+            if (hasSkill && (e.skills == null || !e.skills.contains(skill))) continue;
+            if (hasName && (e.name == null || !namePattern.matcher(e.name).find())) continue;
+            employees.add(copy(e));
+        }
+        return employees;
+    }
+
+    @Override
+    public List<Employee> list(int page, int pageSize, String sortBy, boolean ascending) {
+        Iterable<ObjectId> ordered;
+        if ("joiningDate".equalsIgnoreCase(sortBy)) {
+            List<Iterable<ObjectId>> parts = new ArrayList<>(2);
+            Collection<Set<ObjectId>> dated = (ascending ? byJoiningDate : byJoiningDate.descendingMap()).values();
+            if (ascending) parts.add(withoutJoiningDate);
+            parts.add(flatten(dated));
+            if (!ascending) parts.add(withoutJoiningDate);
+            ordered = flatten(parts);
+        } else {
+            ordered = flatten((ascending ? byName : byName.descendingMap()).values());
+        }
+
+        long skip = Math.max(0L, (long) (page - 1) * pageSize);
+        List<Employee> employees = new ArrayList<>(Math.max(0, Math.min(pageSize, 64)));
+        for (ObjectId id : ordered) {
+            if (employees.size() >= pageSize) break;
+            Employee e = byId.get(id);
+            if (e == null) continue;
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            employees.add(copy(e));
+        }
+        return employees;
+    }
+
+    @Override
+    public Map<String, Integer> countByDepartment() {
+        Map<String, Integer> stats = new HashMap<>();
+        for (Map.Entry<String, Set<ObjectId>> entry : byDepartment.entrySet()) {
+            int count = entry.getValue().size();
+            if (count > 0) stats.put(NULL_KEY.equals(entry.getKey()) ? null : entry.getKey(), count);
+        }
+        return stats;
+    }
+
+    private void index(Employee e) {
+        byId.put(e.id, e);
+        byEmail.put(key(e.email), e.id);
+        byDepartment.computeIfAbsent(key(e.department), k -> ConcurrentHashMap.newKeySet()).add(e.id);
+        byName.computeIfAbsent(key(e.name), k -> ConcurrentHashMap.newKeySet()).add(e.id);
+        if (e.joiningDate != null) {
+            byJoiningDate.computeIfAbsent(e.joiningDate, k -> ConcurrentHashMap.newKeySet()).add(e.id);
+        } else {
+            withoutJoiningDate.add(e.id);
+        }
+    }
+
+    private void unindex(Employee e) {
+        byId.remove(e.id);
+        byEmail.remove(key(e.email), e.id);
+        removeFrom(byDepartment, key(e.department), e.id);
+        removeFrom(byName, key(e.name), e.id);
+        if (e.joiningDate != null) {
+            removeFrom(byJoiningDate, e.joiningDate, e.id);
+        } else {
+            withoutJoiningDate.remove(e.id);
+        }
+    }
+
+    private static <K> void removeFrom(ConcurrentMap<K, Set<ObjectId>> index, K key, ObjectId id) {
+        Set<ObjectId> ids = index.get(key);
+        if (ids == null) return;
+        ids.remove(id);
+        if (ids.isEmpty()) index.remove(key, ids);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void apply(Employee e, String field, Object value) {
+        switch (field) {
+            case "name": e.name = (String) value; break;
+            case "email": e.email = (String) value; break;
+            case "department": e.department = (String) value; break;
+            case "skills": e.skills = value == null ? null : new ArrayList<>((List<String>) value); break;
+            case "joiningDate":
+                e.joiningDate = value instanceof Date
+                        ? EmployeeManagementApp.toLocalDate((Date) value) : (LocalDate) value;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown employee field: " + field);
+        }
+    }
+
+    private static Employee copy(Employee e) {
+        Employee c = new Employee(e.name, e.email, e.department,
+                e.skills == null ? null : new ArrayList<>(e.skills), e.joiningDate);
+        c.id = e.id;
+        return c;
+    }
+
+    private static String key(String value) {
+        return value == null ? NULL_KEY : value;
+    }
+
+    private static <T> Iterable<T> flatten(Iterable<? extends Iterable<T>> groups) {
+        return () -> new Iterator<T>() {
+            private final Iterator<? extends Iterable<T>> outer = groups.iterator();
+            private Iterator<T> inner = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!inner.hasNext() && outer.hasNext()) inner = outer.next().iterator();
+                return inner.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return inner.next();
+            }
+        };
+    }
+}
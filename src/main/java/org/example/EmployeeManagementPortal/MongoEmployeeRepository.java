@@ -0,0 +1,146 @@
+package org.example.EmployeeManagementPortal;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.*;
+import com.mongodb.client.result.DeleteResult;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.example.BackgroundIndex;
+import org.example.EmployeeManagementPortal.EmployeeManagementApp.Employee;
+
+import java.time.LocalDate;
+import java.util.*;
+
+public class MongoEmployeeRepository implements EmployeeRepository {
+
+    private static final Bson ID_ONLY = Projections.include("_id");
+
+    private final MongoCollection<Document> collection;
+    // Built in the background; only writes that rely on email uniqueness wait for it
+    private final BackgroundIndex emailIndex;
+
+    public MongoEmployeeRepository(MongoCollection<Document> collection) {
+        this.collection = collection;
+        this.emailIndex = new BackgroundIndex(collection, Indexes.ascending("email"), new IndexOptions().unique(true));
+    }
+
+    // The unique email index rejects duplicates atomically, so concurrent adds cannot race
+    @Override
+    public boolean insert(Employee e) {
+        // Without the index (old data already holds duplicates) fall back to checking first
+        if (!emailIndex.await() && collection.find(Filters.eq("email", e.email)).first() != null) return false;
+        try {
+            collection.insertOne(e.toDocument());
+        } catch (MongoWriteException ex) {
+            if (ex.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) return false;
+            throw ex;
+        }
+        return true;
+    }
+
+    @Override
+    public void insertAll(List<Employee> employees) {
+        List<Document> docs = new ArrayList<>(employees.size());
+        for (Employee e : employees) docs.add(e.toDocument());
+        emailIndex.await();
+        collection.insertMany(docs, new InsertManyOptions().ordered(false));
+    }
+
+    @Override
+    public ObjectId update(String email, Map<String, Object> fieldsToUpdate) {
+        if (fieldsToUpdate.containsKey("email")) emailIndex.await();
+        List<Bson> updates = new ArrayList<>(fieldsToUpdate.size());
+        for (Map.Entry<String, Object> entry : fieldsToUpdate.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof LocalDate) value = EmployeeManagementApp.toDate((LocalDate) value);
+            updates.add(Updates.set(entry.getKey(), value));
+        }
+        Document matched = collection.findOneAndUpdate(Filters.eq("email", email), Updates.combine(updates),
+                new FindOneAndUpdateOptions().projection(ID_ONLY));
+        return matched == null ? null : matched.getObjectId("_id");
+    }
+
+    @Override
+    public ObjectId deleteByEmail(String email) {
+        Document deleted = collection.findOneAndDelete(Filters.eq("email", email),
+                new FindOneAndDeleteOptions().projection(ID_ONLY));
+        return deleted == null ? null : deleted.getObjectId("_id");
+    }
+
+    @Override
+    public boolean deleteById(ObjectId id) {
+        DeleteResult result = collection.deleteOne(Filters.eq("_id", id));
+        return result.getDeletedCount() > 0;
+    }
+
+    @Override
+    public List<Employee> search(String name, String department, String skill, LocalDate fromDate, LocalDate toDate) {
+        FindIterable<Document> docs = collection.find(searchFilter(name, department, skill, fromDate, toDate));
+        List<Employee> employees = new ArrayList<>();
+        for (Document doc : docs) {
+            employees.add(Employee.fromDocument(doc));
+        }
+        return employees;
+    }
+
+    static Bson searchFilter(String name, String department, String skill, LocalDate fromDate, LocalDate toDate) {
+        List<Bson> filters = new ArrayList<>();
+
+        if (name != null && !name.isBlank()) {
+            filters.add(Filters.regex("name", ".*" + name + ".*", "i"));
+        }
+        if (department != null && !department.isBlank()) {
+            filters.add(Filters.eq("department", department));
+        }
+        if (skill != null && !skill.isBlank()) {
+            filters.add(Filters.in("skills", skill));
+        }
+        if (fromDate != null && toDate != null) {
+            filters.add(Filters.and(Filters.gte("joiningDate", EmployeeManagementApp.toDate(fromDate)),
+                    Filters.lte("joiningDate", EmployeeManagementApp.toDate(toDate))));
+        }
+
+        return filters.isEmpty() ? new Document() : Filters.and(filters);
+    }
+
+    @Override
+    public List<Employee> list(int page, int pageSize, String sortBy, boolean ascending) {
+        Bson sortOrder;
+        if ("joiningDate".equalsIgnoreCase(sortBy)) {
+            sortOrder = ascending ? Sorts.ascending("joiningDate") : Sorts.descending("joiningDate");
+        } else {
+            // Default sort by name
+            sortOrder = ascending ? Sorts.ascending("name") : Sorts.descending("name");
+        }
+
+        FindIterable<Document> docs = collection.find()
+                .sort(sortOrder)
+                .skip((page - 1) * pageSize)
+                .limit(pageSize);
+
+        List<Employee> employees = new ArrayList<>();
+        for (Document doc : docs) {
+            employees.add(Employee.fromDocument(doc));
+        }
+        return employees;
+    }
+
+    @Override
+    public Map<String, Integer> countByDepartment() {
+        List<Bson> pipeline = Collections.singletonList(
+                Aggregates.group("$department", Accumulators.sum("count", 1))
+        );
+
+        AggregateIterable<Document> results = collection.aggregate(pipeline);
+        Map<String, Integer> stats = new HashMap<>();
+        for (Document doc : results) {
+            stats.put(doc.getString("_id"), doc.getInteger("count"));
+        }
+        return stats;
+    }
+}
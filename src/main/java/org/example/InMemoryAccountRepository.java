@@ -0,0 +1,39 @@
+package org.example;
+
+import org.bson.Document;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Embedded account store: one concurrent hash index on accountNumber. Stored documents
+ * are never handed out, only copies, so callers cannot change balances behind its back.
+ */
+public class InMemoryAccountRepository implements AccountRepository {
+
+    private final ConcurrentMap<String, Document> byAccountNumber = new ConcurrentHashMap<>();
+
+    @Override
+    public Document find(String accountNumber) {
+        Document account = byAccountNumber.get(accountNumber);
+        return account == null ? null : new Document(account);
+    }
+
+    @Override
+    public boolean insert(Document account) {
+        return byAccountNumber.putIfAbsent(account.getString("accountNumber"), new Document(account)) == null;
+    }
+
+    @Override
+    public Double addToBalance(String accountNumber, double delta) {
+        // computeIfPresent runs atomically per key, so the check and the update cannot interleave
+        Document[] updated = new Document[1];
+        byAccountNumber.computeIfPresent(accountNumber, (k, account) -> {
+            double newBalance = account.getDouble("balance") + delta;
+            if (newBalance < 0) return account;
+            updated[0] = new Document(account).append("balance", newBalance);
+            return updated[0];
+        });
+        return updated[0] == null ? null : updated[0].getDouble("balance");
+    }
+}
@@ -0,0 +1,82 @@
+package org.example;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Embedded book store. Books are held in a skip list keyed by _id; ObjectIds grow with
+ * insertion time, so listing returns insertion order like a Mongo natural-order scan.
+ * A hash index maps each ISBN to its ids in the same order.
+ */
+public class InMemoryBookRepository implements BookRepository {
+
+    private final ConcurrentNavigableMap<ObjectId, Document> byId = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, NavigableSet<ObjectId>> byIsbn = new ConcurrentHashMap<>();
+
+    @Override
+    public synchronized void insert(Document book) {
+        ObjectId id = book.getObjectId("_id");
+        if (id == null) {
+            id = new ObjectId();
+            book.append("_id", id);
+        }
+        byId.put(id, new Document(book));
+        String isbn = book.getString("isbn");
+        if (isbn != null) byIsbn.computeIfAbsent(isbn, k -> new ConcurrentSkipListSet<>()).add(id);
+    }
+
+    @Override
+    public List<Document> findAll() {
+        List<Document> books = new ArrayList<>(byId.size());
+        for (Document book : byId.values()) {
+            books.add(new Document(book));
+        }
+        return books;
+    }
+
+    @Override
+    public List<Document> findPage(int page, int pageSize) {
+        long skip = Math.max(0L, (long) (page - 1) * pageSize);
+        List<Document> books = new ArrayList<>(Math.max(0, Math.min(pageSize, 64)));
+        for (Document book : byId.values()) {
+            if (books.size() >= pageSize) break;
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            books.add(new Document(book));
+        }
+        return books;
+    }
+
+    @Override
+    public synchronized boolean updateTitle(String isbn, String newTitle) {
+        ObjectId id = firstByIsbn(isbn);
+        if (id == null) return false;
+        byId.computeIfPresent(id, (k, book) -> new Document(book).append("title", newTitle));
+        return true;
+    }
+
+    @Override
+    public synchronized boolean deleteByIsbn(String isbn) {
+        ObjectId id = firstByIsbn(isbn);
+        if (id == null) return false;
+        byId.remove(id);
+        NavigableSet<ObjectId> ids = byIsbn.get(isbn);
+        ids.remove(id);
+        if (ids.isEmpty()) byIsbn.remove(isbn);
+        return true;
+    }
+
+    private ObjectId firstByIsbn(String isbn) {
+        NavigableSet<ObjectId> ids = byIsbn.get(isbn);
+        return ids == null || ids.isEmpty() ? null : ids.first();
+    }
+}
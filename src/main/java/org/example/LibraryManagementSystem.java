@@ -1,17 +1,79 @@
 package org.example;
 import com.mongodb.client.*;
 import org.bson.Document;
+import org.example.metrics.MongoMetrics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import java.util.List;
 import java.util.Scanner;
 
+import static org.apache.logging.log4j.util.Unbox.box;
+
 public class LibraryManagementSystem {
 
+    private static final Logger log = LogManager.getLogger(LibraryManagementSystem.class);
+
+    private final BookRepository books;
+
+    public LibraryManagementSystem(BookRepository books) {
+        this.books = books;
+    }
+
+    public LibraryManagementSystem(MongoCollection<Document> books) {
+        this(new MongoBookRepository(books));
+    }
+
+    public Document addBook(String title, String author, String isbn, String type, String extra) {
+        long start = System.nanoTime();
+        Document doc = new Document("title", title)
+                .append("author", author)
+                .append("isbn", isbn)
+                .append("type", type.equalsIgnoreCase("Fiction") ? "FictionBook" : "NonFictionBook");
+
+        if (type.equalsIgnoreCase("Fiction")) {
+            doc.append("genre", extra);
+        } else {
+            doc.append("subject", extra);
+        }
+
+        books.insert(doc);
+        log.info("event=book_added isbn={} type={} latencyUs={}", isbn, doc.getString("type"), box(micros(start)));
+        return doc;
+    }
+
+    public List<Document> listBooks() {
+        return books.findAll();
+    }
+
+    public List<Document> listBooks(int page, int pageSize) {
+        return books.findPage(page, pageSize);
+    }
+
+    public boolean updateTitle(String isbn, String newTitle) {
+        long start = System.nanoTime();
+        boolean updated = books.updateTitle(isbn, newTitle);
+        log.info("event=book_updated isbn={} matched={} latencyUs={}", isbn, updated, box(micros(start)));
+        return updated;
+    }
+
+    public boolean deleteBook(String isbn) {
+        long start = System.nanoTime();
+        boolean deleted = books.deleteByIsbn(isbn);
+        log.info("event=book_deleted isbn={} matched={} latencyUs={}", isbn, deleted, box(micros(start)));
+        return deleted;
+    }
+
+    private static long micros(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1000;
+    }
+
     public static void main(String[] args) {
         Scanner sc = new Scanner(System.in);
 
         // Connect to MongoDB
-        MongoClient mongoClient = MongoClients.create("mongodb://localhost:27017");
+        MongoClient mongoClient = MongoMetrics.shared().createClient("mongodb://localhost:27017");
         MongoDatabase db = mongoClient.getDatabase("LibraryDB");
-        MongoCollection<Document> books = db.getCollection("books");
+        LibraryManagementSystem library = new LibraryManagementSystem(db.getCollection("books"));
 
         while (true) {
             System.out.println("\n--- Library Menu ---");
@@ -35,23 +97,11 @@ public class LibraryManagementSystem {
                 System.out.print("Genre or Subject: ");
                 String extra = sc.nextLine();
 
-                Document doc = new Document("title", title)
-                        .append("author", author)
-                        .append("isbn", isbn)
-                        .append("type", type.equalsIgnoreCase("Fiction") ? "FictionBook" : "NonFictionBook");
-
-                if (type.equalsIgnoreCase("Fiction")) {
-                    doc.append("genre", extra);
-                } else {
-                    doc.append("subject", extra);
-                }
-
-                books.insertOne(doc);
+                library.addBook(title, author, isbn, type, extra);
                 System.out.println("Book added.");
 
             } else if (choice == 2) {
-                FindIterable<Document> allBooks = books.find();
-                for (Document book : allBooks) {
+                for (Document book : library.listBooks()) {
                     System.out.println(book.toJson());
                 }
 
@@ -61,13 +111,13 @@ public class LibraryManagementSystem {
                 System.out.print("New Title: ");
                 String newTitle = sc.nextLine();
 
-                books.updateOne(new Document("isbn", isbn), new Document("$set", new Document("title", newTitle)));
+                library.updateTitle(isbn, newTitle);
                 System.out.println("Book updated.");
 
             } else if (choice == 4) {
                 System.out.print("Enter ISBN to delete: ");
                 String isbn = sc.nextLine();
-                books.deleteOne(new Document("isbn", isbn));
+                library.deleteBook(isbn);
                 System.out.println("Book deleted.");
 
             } else if (choice == 5) {
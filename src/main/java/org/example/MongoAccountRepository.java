@@ -0,0 +1,64 @@
+package org.example;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.util.List;
+
+public class MongoAccountRepository implements AccountRepository {
+
+    private final MongoCollection<Document> accountsCollection;
+    private final BackgroundIndex accountNumberIndex;
+
+    public MongoAccountRepository(MongoCollection<Document> accountsCollection) {
+        this.accountsCollection = accountsCollection;
+        this.accountNumberIndex = new BackgroundIndex(accountsCollection,
+                Indexes.ascending("accountNumber"), new IndexOptions().unique(true));
+    }
+
+    @Override
+    public Document find(String accountNumber) {
+        return accountsCollection.find(Filters.eq("accountNumber", accountNumber)).first();
+    }
+
+    // The unique accountNumber index rejects duplicates atomically, so concurrent creates cannot race.
+    // Without it (old data already holds duplicates) this falls back to checking first.
+    @Override
+    public boolean insert(Document account) {
+        if (!accountNumberIndex.await() && find(account.getString("accountNumber")) != null) return false;
+        try {
+            accountsCollection.insertOne(account);
+        } catch (MongoWriteException ex) {
+            if (ex.getError().getCategory() == ErrorCategory.DUPLICATE_KEY) return false;
+            throw ex;
+        }
+        return true;
+    }
+
+    @Override
+    public Double addToBalance(String accountNumber, double delta) {
+        // The funds check is part of the filter, so it and the $inc apply as one write
+        Bson filter = delta < 0
+                ? Filters.and(Filters.eq("accountNumber", accountNumber), Filters.gte("balance", -delta))
+                : Filters.eq("accountNumber", accountNumber);
+        Document updated = accountsCollection.findOneAndUpdate(filter, Updates.inc("balance", delta),
+                new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER));
+        return updated == null ? null : updated.getDouble("balance");
+    }
+
+    @Override
+    public void insertAll(List<Document> accounts) {
+        accountNumberIndex.await();
+        accountsCollection.insertMany(accounts, new InsertManyOptions().ordered(false));
+    }
+}
@@ -0,0 +1,53 @@
+package org.example;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Sorts;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MongoBookRepository implements BookRepository {
+
+    private final MongoCollection<Document> books;
+
+    public MongoBookRepository(MongoCollection<Document> books) {
+        this.books = books;
+    }
+
+    @Override
+    public void insert(Document book) {
+        books.insertOne(book);
+    }
+
+    @Override
+    public void insertAll(List<Document> books) {
+        this.books.insertMany(books, new InsertManyOptions().ordered(false));
+    }
+
+    @Override
+    public List<Document> findAll() {
+        return books.find().into(new ArrayList<>());
+    }
+
+    @Override
+    public List<Document> findPage(int page, int pageSize) {
+        return books.find()
+                .sort(Sorts.ascending("_id"))
+                .skip((page - 1) * pageSize)
+                .limit(pageSize)
+                .into(new ArrayList<>());
+    }
+
+    @Override
+    public boolean updateTitle(String isbn, String newTitle) {
+        return books.updateOne(new Document("isbn", isbn), new Document("$set", new Document("title", newTitle)))
+                .getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean deleteByIsbn(String isbn) {
+        return books.deleteOne(new Document("isbn", isbn)).getDeletedCount() > 0;
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.http;
+
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Minimal streaming JSON encoder that appends straight into one buffer. Documents are
+ * written field by field, so responses never go through Document.toJson() and an
+ * intermediate String per document.
+ */
+public class JsonWriter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final StringBuilder sb;
+    private boolean needComma;
+
+    public JsonWriter() {
+        this(new StringBuilder(1024));
+    }
+
+    public JsonWriter(StringBuilder sb) {
+        this.sb = sb;
+    }
+
+    public JsonWriter beginObject() {
+        separator();
+        sb.append('{');
+        needComma = false;
+        return this;
+    }
+
+    public JsonWriter endObject() {
+        sb.append('}');
+        needComma = true;
+        return this;
+    }
+
+    public JsonWriter beginArray() {
+        separator();
+        sb.append('[');
+        needComma = false;
+        return this;
+    }
+
+    public JsonWriter endArray() {
+        sb.append(']');
+        needComma = true;
+        return this;
+    }
+
+    public JsonWriter name(String name) {
+        separator();
+        string(name);
+        sb.append(':');
+        needComma = false;
+        return this;
+    }
+
+    public JsonWriter field(String name, Object value) {
+        return name(name).value(value);
+    }
+
+    public JsonWriter value(Object value) {
+        if (value instanceof Map) {
+            beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                field(String.valueOf(entry.getKey()), entry.getValue());
+            }
+            return endObject();
+        }
+        if (value instanceof Iterable) {
+            beginArray();
+            for (Object item : (Iterable<?>) value) {
+                value(item);
+            }
+            return endArray();
+        }
+        separator();
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof String) {
+            string((String) value);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+            sb.append(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            double d = ((Number) value).doubleValue();
+            if (Double.isFinite(d)) sb.append(d); else sb.append("null");
+        } else if (value instanceof Boolean) {
+            sb.append((boolean) (Boolean) value);
+        } else if (value instanceof ObjectId) {
+            sb.append('"').append(((ObjectId) value).toHexString()).append('"');
+        } else if (value instanceof LocalDate) {
+            sb.append('"');
+            DateTimeFormatter.ISO_LOCAL_DATE.formatTo((LocalDate) value, sb);
+            sb.append('"');
+        } else if (value instanceof Date) {
+            sb.append('"');
+            DateTimeFormatter.ISO_INSTANT.formatTo(((Date) value).toInstant(), sb);
+            sb.append('"');
+        } else {
+            string(value.toString());
+        }
+        needComma = true;
+        return this;
+    }
+
+    public int length() {
+        return sb.length();
+    }
+
+    public byte[] toBytes() {
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return sb.toString();
+    }
+
+    private void separator() {
+        if (needComma) sb.append(',');
+    }
+
+    private void string(String s) {
+        sb.append('"');
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,458 @@
+package org.example.http;
+
+import com.mongodb.client.MongoClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.cli.*;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.example.*;
+import org.example.EmployeeManagementPortal.EmployeeManagementApp;
+import org.example.EmployeeManagementPortal.EmployeeManagementApp.Employee;
+import org.example.EmployeeManagementPortal.EmployeeService;
+import org.example.EmployeeManagementPortal.InMemoryEmployeeRepository;
+import org.example.metrics.LatencyHistogram;
+import org.example.metrics.MongoMetrics;
+import org.example.studentenrollment.EnrollmentRepository;
+import org.example.studentenrollment.InMemoryEnrollmentRepository;
+import org.example.studentenrollment.MongoEnrollmentRepository;
+import org.example.studentenrollment.studentenroll;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Embedded HTTP/JSON front end for the four portal apps.
+ *
+ * Connections are HTTP/1.1 keep-alive: every response carries a Content-Length, so the
+ * JDK server keeps the socket open and serves pipelined requests on it in order. Each
+ * route records its latency into a {@link LatencyHistogram}, reported at GET /metrics.
+ */
+public class PortalHttpServer {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    interface Handler {
+        void handle(Request request, JsonWriter out) throws Exception;
+    }
+
+    // Completes once the response has been written to out, so a route whose call runs on
+    // another pool does not hold an HTTP worker while it waits
+    interface AsyncHandler {
+        CompletionStage<?> handle(Request request, JsonWriter out) throws Exception;
+    }
+
+    static class HttpError extends RuntimeException {
+        final int status;
+
+        HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    static class Request {
+        final Map<String, String> query;
+        final Document body;
+
+        Request(Map<String, String> query, Document body) {
+            this.query = query;
+            this.body = body;
+        }
+
+        String param(String name) {
+            String value = query.get(name);
+            if (value == null && body != null) {
+                Object fromBody = body.get(name);
+                if (fromBody != null) value = fromBody.toString();
+            }
+            return value == null || value.isBlank() ? null : value;
+        }
+
+        String required(String name) {
+            String value = param(name);
+            if (value == null) throw new HttpError(400, "Missing parameter: " + name);
+            return value;
+        }
+
+        double requiredDouble(String name) {
+            try {
+                return Double.parseDouble(required(name));
+            } catch (NumberFormatException e) {
+                throw new HttpError(400, "Not a number: " + name);
+            }
+        }
+
+        int intParam(String name, int defaultValue) {
+            String value = param(name);
+            if (value == null) return defaultValue;
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new HttpError(400, "Not an integer: " + name);
+            }
+        }
+
+        // Listings are paged with 1-based "page" and "size" parameters
+        int page() {
+            int page = intParam("page", 1);
+            if (page < 1) throw new HttpError(400, "page must be at least 1");
+            return page;
+        }
+
+        int pageSize() {
+            int size = intParam("size", 20);
+            if (size < 1 || size > MAX_PAGE_SIZE) throw new HttpError(400, "size must be between 1 and " + MAX_PAGE_SIZE);
+            return size;
+        }
+
+        LocalDate dateParam(String name) {
+            String value = param(name);
+            if (value == null) return null;
+            try {
+                return EmployeeManagementApp.parseDate(value);
+            } catch (DateTimeParseException e) {
+                throw new HttpError(400, "Invalid date (yyyy-MM-dd): " + name);
+            }
+        }
+
+        ObjectId objectIdParam(String name) {
+            String value = required(name);
+            if (!ObjectId.isValid(value)) throw new HttpError(400, "Invalid ObjectId: " + name);
+            return new ObjectId(value);
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    // Keyed "METHOD /path"; sorted so /metrics output is stable
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentSkipListMap<>();
+    private final Map<String, Map<String, AsyncHandler>> routes = new HashMap<>();
+    private volatile MongoMetrics mongoMetrics;
+    private volatile EmployeeService employeeService;
+
+    public PortalHttpServer(int port, int threads) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+        this.executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+    }
+
+    void route(String method, String path, Handler handler) {
+        routeAsync(method, path, (req, out) -> {
+            handler.handle(req, out);
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    void routeAsync(String method, String path, AsyncHandler handler) {
+        Map<String, AsyncHandler> byMethod = routes.get(path);
+        if (byMethod == null) {
+            byMethod = new HashMap<>();
+            routes.put(path, byMethod);
+            Map<String, AsyncHandler> methods = byMethod;
+            server.createContext(path, exchange -> dispatch(exchange, path, methods));
+        }
+        byMethod.put(method, handler);
+        latencies.put(method + " " + path, new LatencyHistogram());
+    }
+
+    // Appends the driver's per-command latencies to GET /metrics
+    public void setMongoMetrics(MongoMetrics mongoMetrics) {
+        this.mongoMetrics = mongoMetrics;
+    }
+
+    public void registerBanking(BankingSystem bank) {
+        route("POST", "/bank/accounts", (req, out) -> {
+            bank.createAccount(req.required("accountNumber"), req.required("accountHolder"),
+                    req.requiredDouble("initialBalance"));
+            out.beginObject().field("accountNumber", req.required("accountNumber")).endObject();
+        });
+        route("POST", "/bank/deposit", (req, out) -> {
+            double balance = bank.deposit(req.required("accountNumber"), req.requiredDouble("amount"));
+            out.beginObject().field("balance", balance).endObject();
+        });
+        route("POST", "/bank/withdraw", (req, out) -> {
+            double balance = bank.withdraw(req.required("accountNumber"), req.requiredDouble("amount"));
+            out.beginObject().field("balance", balance).endObject();
+        });
+        route("GET", "/bank/balance", (req, out) -> {
+            Document account = bank.getAccount(req.required("accountNumber"));
+            out.beginObject()
+                    .field("accountNumber", account.getString("accountNumber"))
+                    .field("accountHolder", account.getString("accountHolder"))
+                    .field("balance", account.getDouble("balance"))
+                    .endObject();
+        });
+    }
+
+    public void registerLibrary(LibraryManagementSystem library) {
+        route("GET", "/library/books", (req, out) -> out.value(library.listBooks(req.page(), req.pageSize())));
+        route("POST", "/library/books", (req, out) -> out.value(library.addBook(req.required("title"),
+                req.required("author"), req.required("isbn"), req.required("type"), req.param("extra"))));
+        route("PUT", "/library/books", (req, out) -> {
+            if (!library.updateTitle(req.required("isbn"), req.required("title")))
+                throw new HttpError(404, "No book with ISBN: " + req.required("isbn"));
+            out.beginObject().field("updated", true).endObject();
+        });
+        route("DELETE", "/library/books", (req, out) -> {
+            if (!library.deleteBook(req.required("isbn")))
+                throw new HttpError(404, "No book with ISBN: " + req.required("isbn"));
+            out.beginObject().field("deleted", true).endObject();
+        });
+    }
+
+    public void registerEnrollment(EnrollmentRepository repository) {
+        studentenroll.init(repository);
+        route("POST", "/students", (req, out) ->
+                out.value(studentenroll.createStudent(req.required("name"), req.required("email"))));
+        route("PUT", "/students", (req, out) -> {
+            if (!studentenroll.renameStudent(req.objectIdParam("id"), req.required("name")))
+                throw new HttpError(404, "No student with id: " + req.required("id"));
+            out.beginObject().field("updated", true).endObject();
+        });
+        route("POST", "/courses", (req, out) ->
+                out.value(studentenroll.createCourse(req.required("title"), req.required("description"))));
+        route("GET", "/enrollments", (req, out) ->
+                out.value(studentenroll.resolveEnrollments(req.page(), req.pageSize())));
+        route("POST", "/enrollments", (req, out) -> {
+            boolean embedded = "embedded".equalsIgnoreCase(req.param("type"));
+            Document enrollment = studentenroll.enroll(req.objectIdParam("studentId"),
+                    req.objectIdParam("courseId"), embedded);
+            if (enrollment == null) throw new HttpError(404, "Student or course not found.");
+            out.value(enrollment);
+        });
+    }
+
+    // Employee calls run on the service's pool behind its in-flight limit; requests over
+    // the limit get 503 instead of queueing
+    public void registerEmployees(EmployeeService employees) {
+        this.employeeService = employees;
+        routeAsync("GET", "/employees", (req, out) -> employees.listEmployees(
+                req.page(), req.pageSize(), req.param("sortBy"),
+                !"false".equalsIgnoreCase(req.param("asc")))
+                .thenAccept(list -> writeEmployees(out, list)));
+        routeAsync("GET", "/employees/search", (req, out) -> employees.searchEmployees(
+                req.param("name"), req.param("department"), req.param("skill"),
+                req.dateParam("from"), req.dateParam("to"))
+                .thenAccept(list -> writeEmployees(out, list)));
+        routeAsync("GET", "/employees/stats", (req, out) -> employees.getDepartmentStats().thenAccept(out::value));
+        routeAsync("POST", "/employees", (req, out) -> {
+            Employee employee = new Employee(req.required("name"), req.required("email"),
+                    req.required("department"), skillsParam(req), req.dateParam("joiningDate"));
+            return employees.addEmployee(employee).thenAccept(added -> {
+                if (!added) throw new HttpError(409, "Employee with this email already exists.");
+                out.beginObject().field("email", employee.getEmail()).endObject();
+            });
+        });
+        routeAsync("PUT", "/employees", (req, out) -> {
+            Map<String, Object> updates = new HashMap<>();
+            if (req.param("department") != null) updates.put("department", req.param("department"));
+            if (req.param("skills") != null) updates.put("skills", skillsParam(req));
+            LocalDate joiningDate = req.dateParam("joiningDate");
+            if (joiningDate != null) updates.put("joiningDate", joiningDate);
+            if (updates.isEmpty()) throw new HttpError(400, "Nothing to update.");
+            String email = req.required("email");
+            return employees.updateEmployee(email, updates).thenAccept(updated -> {
+                if (!updated) throw new HttpError(404, "No employee found with email: " + email);
+                out.beginObject().field("updated", true).endObject();
+            });
+        });
+        routeAsync("DELETE", "/employees", (req, out) -> {
+            String id = req.param("id");
+            CompletableFuture<Boolean> deleted = id != null
+                    ? employees.deleteEmployeeById(id) : employees.deleteEmployeeByEmail(req.required("email"));
+            return deleted.thenAccept(found -> {
+                if (!found) throw new HttpError(404, "No matching employee.");
+                out.beginObject().field("deleted", true).endObject();
+            });
+        });
+    }
+
+    private void registerMetrics() {
+        server.createContext("/metrics", exchange -> {
+            StringBuilder sb = new StringBuilder(4096);
+            sb.append("# endpoint count p50_us p99_us max_us\n");
+            for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+                LatencyHistogram h = entry.getValue();
+                sb.append(entry.getKey().replace(' ', '_'))
+                        .append(' ').append(h.count())
+                        .append(' ').append(h.percentile(50) / 1000)
+                        .append(' ').append(h.percentile(99) / 1000)
+                        .append(' ').append(h.max() / 1000)
+                        .append('\n');
+            }
+            EmployeeService employees = employeeService;
+            if (employees != null) employees.appendText(sb);
+            MongoMetrics mongo = mongoMetrics;
+            if (mongo != null) mongo.appendText(sb);
+            send(exchange, 200, "text/plain; charset=utf-8", sb.toString().getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    private void dispatch(HttpExchange exchange, String path, Map<String, AsyncHandler> methods) {
+        long start = System.nanoTime();
+        String method = exchange.getRequestMethod();
+        // Contexts match by prefix; only serve the exact path registered
+        AsyncHandler handler = exchange.getRequestURI().getPath().equals(path) ? methods.get(method) : null;
+        JsonWriter out = new JsonWriter();
+        CompletionStage<?> response;
+        try {
+            if (handler == null) {
+                if (!exchange.getRequestURI().getPath().equals(path)) throw new HttpError(404, "Not found.");
+                throw new HttpError(405, "Method not allowed.");
+            }
+            response = handler.handle(new Request(parseQuery(exchange.getRequestURI().getRawQuery()),
+                    readBody(exchange.getRequestBody())), out);
+        } catch (Exception e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        response.whenComplete((ignored, error) -> {
+            try {
+                if (error == null) send(exchange, 200, "application/json; charset=utf-8", out.toBytes());
+                else sendError(exchange, error);
+            } catch (IOException e) {
+                exchange.close();
+            }
+            if (handler != null) {
+                latencies.get(method + " " + path).record(System.nanoTime() - start);
+            }
+        });
+    }
+
+    private static void sendError(HttpExchange exchange, Throwable error) throws IOException {
+        if (error instanceof CompletionException && error.getCause() != null) error = error.getCause();
+        int status;
+        if (error instanceof HttpError) status = ((HttpError) error).status;
+        else if (error instanceof BankingException || error instanceof IllegalArgumentException) status = 400;
+        else if (error instanceof RejectedExecutionException) status = 503;
+        else status = 500;
+        JsonWriter out = new JsonWriter().beginObject().field("error", String.valueOf(error.getMessage())).endObject();
+        send(exchange, status, "application/json; charset=utf-8", out.toBytes());
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private static Document readBody(InputStream in) throws IOException {
+        byte[] bytes = in.readAllBytes();
+        in.close();
+        if (bytes.length == 0) return null;
+        try {
+            return Document.parse(new String(bytes, StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            throw new HttpError(400, "Malformed JSON body.");
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) return Collections.emptyMap();
+        Map<String, String> params = new HashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static List<String> skillsParam(Request req) {
+        Object raw = req.body != null ? req.body.get("skills") : null;
+        if (raw instanceof List) {
+            List<String> skills = new ArrayList<>();
+            for (Object skill : (List<?>) raw) skills.add(String.valueOf(skill));
+            return skills;
+        }
+        String csv = req.param("skills");
+        if (csv == null) return Collections.emptyList();
+        List<String> skills = new ArrayList<>();
+        for (String s : csv.split(",")) skills.add(s.trim());
+        return skills;
+    }
+
+    private static void writeEmployees(JsonWriter out, List<Employee> employees) {
+        out.beginArray();
+        for (Employee e : employees) {
+            out.beginObject()
+                    .field("id", e.getId())
+                    .field("name", e.getName())
+                    .field("email", e.getEmail())
+                    .field("department", e.getDepartment())
+                    .field("skills", e.getSkills())
+                    .field("joiningDate", e.getJoiningDate())
+                    .endObject();
+        }
+        out.endArray();
+    }
+
+    public void start() {
+        registerMetrics();
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options();
+        options.addOption("p", "port", true, "HTTP port (default 8080)");
+        options.addOption("u", "uri", true, "MongoDB connection string (default mongodb://localhost:27017)");
+        options.addOption("t", "threads", true, "Worker threads (default 64)");
+        options.addOption("m", "memory", false, "Serve from the embedded in-memory store instead of MongoDB");
+        options.addOption("l", "max-in-flight", true, "Employee requests admitted at once before answering 503 (default 256)");
+        CommandLine cmd;
+        try {
+            cmd = new DefaultParser().parse(options, args);
+        } catch (ParseException e) {
+            new HelpFormatter().printHelp("PortalHttpServer", options);
+            return;
+        }
+        int port = Integer.parseInt(cmd.getOptionValue("port", "8080"));
+        int threads = Integer.parseInt(cmd.getOptionValue("threads", "64"));
+        String uri = cmd.getOptionValue("uri", "mongodb://localhost:27017");
+        int maxInFlight = Integer.parseInt(cmd.getOptionValue("max-in-flight", "256"));
+
+        PortalHttpServer http = new PortalHttpServer(port, threads);
+        MongoClient client = null;
+        EmployeeManagementApp employeeApp;
+        if (cmd.hasOption("memory")) {
+            http.registerBanking(new BankingSystem(new InMemoryAccountRepository()));
+            http.registerLibrary(new LibraryManagementSystem(new InMemoryBookRepository()));
+            http.registerEnrollment(new InMemoryEnrollmentRepository());
+            employeeApp = new EmployeeManagementApp(new InMemoryEmployeeRepository());
+        } else {
+            client = MongoMetrics.shared().createClient(uri);
+            http.setMongoMetrics(MongoMetrics.shared());
+            http.registerBanking(new BankingSystem(client.getDatabase("banking_system").getCollection("accounts")));
+            http.registerLibrary(new LibraryManagementSystem(client.getDatabase("LibraryDB").getCollection("books")));
+            http.registerEnrollment(new MongoEnrollmentRepository(client.getDatabase("student_enrollment")));
+            employeeApp = new EmployeeManagementApp(client.getDatabase("employee_db").getCollection("employees"));
+        }
+        EmployeeService employees = new EmployeeService(employeeApp, maxInFlight);
+        http.registerEmployees(employees);
+
+        MongoClient mongoClient = client;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            http.stop();
+            employees.close();
+            if (mongoClient != null) mongoClient.close();
+        }));
+        http.start();
+        System.out.println("Portal HTTP server listening on port " + port);
+    }
+}
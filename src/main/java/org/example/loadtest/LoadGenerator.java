@@ -0,0 +1,295 @@
+package org.example.loadtest;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import org.apache.commons.cli.*;
+import org.example.*;
+import org.example.EmployeeManagementPortal.EmployeeRepository;
+import org.example.EmployeeManagementPortal.InMemoryEmployeeRepository;
+import org.example.EmployeeManagementPortal.MongoEmployeeRepository;
+import org.example.metrics.LatencyHistogram;
+import org.example.metrics.MongoMetrics;
+import org.example.studentenrollment.EnrollmentRepository;
+import org.example.studentenrollment.InMemoryEnrollmentRepository;
+import org.example.studentenrollment.MongoEnrollmentRepository;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load-test driver for the four portal apps. Seeds a synthetic data set (see
+ * {@link Workload}), then runs a weighted mix of operations from a pool of worker threads
+ * at a fixed target rate and reports throughput and latency percentiles per operation.
+ *
+ * The schedule is open-loop: operation i is due at start + i / rate whatever happened to
+ * the ones before it, and its latency is measured from that due time rather than from when
+ * a worker got round to it. A stall therefore shows up in the latency of every request
+ * that queued behind it instead of silently lowering the request rate (coordinated
+ * omission). Service time, measured from the actual start, is reported alongside.
+ *
+ * Against MongoDB the data goes to databases named with a prefix (default "loadtest_"),
+ * which are dropped and reseeded on every run.
+ */
+public class LoadGenerator {
+
+    static final String DEFAULT_MIX = "banking.balance=20,banking.deposit=10,banking.withdraw=10,"
+            + "library.add=5,library.updateTitle=5,enrollment.enroll=10,enrollment.renameStudent=5,"
+            + "employees.search=15,employees.list=10,employees.add=5,employees.update=4,employees.stats=1";
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    static class OperationStats {
+        final String name;
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LatencyHistogram serviceTime = new LatencyHistogram();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder failed = new LongAdder();
+
+        OperationStats(String name) {
+            this.name = name;
+        }
+    }
+
+    /** Weighted choice over the operations in the mix. */
+    static class Mix {
+        final String[] names;
+        final Workload.Operation[] operations;
+        private final int[] cumulativeWeights;
+
+        Mix(String spec, Map<String, Workload.Operation> available) {
+            Map<String, Integer> weights = new LinkedHashMap<>();
+            for (String entry : spec.split(",")) {
+                String[] parts = entry.trim().split("=");
+                if (parts.length != 2 || !available.containsKey(parts[0].trim())) {
+                    throw new IllegalArgumentException("Bad mix entry '" + entry + "'; operations are " + available.keySet());
+                }
+                int weight = Integer.parseInt(parts[1].trim());
+                if (weight < 0) throw new IllegalArgumentException("Negative weight in mix entry '" + entry + "'");
+                if (weight > 0) weights.put(parts[0].trim(), weight);
+            }
+            if (weights.isEmpty()) throw new IllegalArgumentException("The mix has no operation with a positive weight");
+
+            names = weights.keySet().toArray(new String[0]);
+            operations = new Workload.Operation[names.length];
+            cumulativeWeights = new int[names.length];
+            int total = 0;
+            for (int i = 0; i < names.length; i++) {
+                operations[i] = available.get(names[i]);
+                total += weights.get(names[i]);
+                cumulativeWeights[i] = total;
+            }
+        }
+
+        int pick(SplittableRandom random) {
+            int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int i = 0;
+            while (cumulativeWeights[i] <= ticket) i++;
+            return i;
+        }
+    }
+
+    private final Mix mix;
+    private final ExecutorService workers;
+    private final int threads;
+    private final double rate;
+
+    LoadGenerator(Mix mix, int threads, double rate) {
+        this.mix = mix;
+        this.threads = threads;
+        this.rate = rate;
+        this.workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "load-worker");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Runs the mix for the given time, with a target rate of ops/s or flat out when the rate
+     * is 0 (in which case latency equals service time, as there is no schedule to fall
+     * behind). Returns the per-operation statistics.
+     */
+    OperationStats[] run(long durationNanos, long randomSeed) throws Exception {
+        OperationStats[] stats = new OperationStats[mix.names.length];
+        for (int i = 0; i < stats.length; i++) stats[i] = new OperationStats(mix.names[i]);
+
+        double intervalNanos = rate > 0 ? 1e9 / rate : 0;
+        AtomicLong sequence = new AtomicLong();
+        long t0 = System.nanoTime();
+        List<Future<?>> running = new ArrayList<>(threads);
+        for (int w = 0; w < threads; w++) {
+            SplittableRandom random = new SplittableRandom(randomSeed * 7919 + w);
+            running.add(workers.submit(() -> {
+                while (true) {
+                    long due;
+                    if (rate > 0) {
+                        long seq = sequence.getAndIncrement();
+                        due = t0 + (long) (seq * intervalNanos);
+                        if (due - t0 >= durationNanos) return null;
+                        long now;
+                        while ((now = System.nanoTime()) < due) LockSupport.parkNanos(due - now);
+                    } else {
+                        due = System.nanoTime();
+                        if (due - t0 >= durationNanos) return null;
+                    }
+                    int op = mix.pick(random);
+                    long start = System.nanoTime();
+                    try {
+                        mix.operations[op].run(random);
+                    } catch (Exception e) {
+                        if (Workload.isRejection(e)) stats[op].rejected.increment();
+                        else stats[op].failed.increment();
+                    }
+                    long end = System.nanoTime();
+                    stats[op].latency.record(end - due);
+                    stats[op].serviceTime.record(end - start);
+                }
+            }));
+        }
+        for (Future<?> worker : running) worker.get();
+        return stats;
+    }
+
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    static String report(OperationStats[] stats, double seconds, double targetRate) {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append(String.format("%-26s %10s %8s %8s", "operation", "count", "rejected", "failed"));
+        for (double p : PERCENTILES) sb.append(String.format(" %10s", "p" + trim(p) + "_us"));
+        sb.append(String.format(" %10s %12s%n", "max_us", "svc_p99_us"));
+
+        long total = 0;
+        long totalFailed = 0;
+        LatencyHistogram all = new LatencyHistogram();
+        for (OperationStats s : stats) {
+            total += s.latency.count();
+            totalFailed += s.failed.sum();
+            sb.append(String.format("%-26s %10d %8d %8d", s.name, s.latency.count(), s.rejected.sum(), s.failed.sum()));
+            for (double p : PERCENTILES) sb.append(String.format(" %10d", micros(s.latency.percentile(p))));
+            sb.append(String.format(" %10d %12d%n", micros(s.latency.max()), micros(s.serviceTime.percentile(99))));
+        }
+        double throughput = total / seconds;
+        sb.append(String.format("%nCompleted %,d operations in %.1f s: %,.0f ops/s", total, seconds, throughput));
+        if (targetRate > 0) {
+            sb.append(String.format(" (target %,.0f ops/s)", targetRate));
+            if (throughput < targetRate * 0.95) sb.append(" -- could not keep up with the target rate");
+        }
+        sb.append(String.format(", %,d failed%n", totalFailed));
+        return sb.toString();
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private static String trim(double p) {
+        return p == Math.rint(p) ? String.valueOf((long) p) : String.valueOf(p);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options();
+        options.addOption("m", "memory", false, "Run against the embedded in-memory store instead of MongoDB");
+        options.addOption("u", "uri", true, "MongoDB connection string (default mongodb://localhost:27017)");
+        options.addOption(null, "prefix", true, "Database name prefix; these databases are dropped and reseeded (default loadtest_)");
+        options.addOption("r", "rate", true, "Target operations per second, 0 for unthrottled (default 1000)");
+        options.addOption("d", "duration", true, "Measured run time in seconds (default 60)");
+        options.addOption("w", "warmup", true, "Unmeasured run time before it, in seconds (default 10)");
+        options.addOption("t", "threads", true, "Worker threads (default 200)");
+        options.addOption("l", "max-in-flight", true, "Employee requests admitted at once by EmployeeService (default 256)");
+        options.addOption(null, "mix", true, "Operation weights as name=weight,... (default " + DEFAULT_MIX + ")");
+        options.addOption(null, "accounts", true, "Accounts to seed (default 100000)");
+        options.addOption(null, "books", true, "Books to seed (default 100000)");
+        options.addOption(null, "employees", true, "Employees to seed (default 100000)");
+        options.addOption(null, "students", true, "Students to seed (default 50000)");
+        options.addOption(null, "courses", true, "Courses to seed (default 1000)");
+        options.addOption(null, "enrollments", true, "Enrollments to seed (default 200000)");
+        options.addOption(null, "seed", true, "Random seed for data and operations (default 42)");
+        CommandLine cmd;
+        try {
+            cmd = new DefaultParser().parse(options, args);
+        } catch (ParseException e) {
+            new HelpFormatter().printHelp("LoadGenerator", options);
+            return;
+        }
+        double rate = Double.parseDouble(cmd.getOptionValue("rate", "1000"));
+        long duration = Long.parseLong(cmd.getOptionValue("duration", "60"));
+        long warmup = Long.parseLong(cmd.getOptionValue("warmup", "10"));
+        int threads = Integer.parseInt(cmd.getOptionValue("threads", "200"));
+        long randomSeed = Long.parseLong(cmd.getOptionValue("seed", "42"));
+
+        MongoClient client = null;
+        AccountRepository accounts;
+        BookRepository books;
+        EnrollmentRepository enrollments;
+        EmployeeRepository employees;
+        if (cmd.hasOption("memory")) {
+            accounts = new InMemoryAccountRepository();
+            books = new InMemoryBookRepository();
+            enrollments = new InMemoryEnrollmentRepository();
+            employees = new InMemoryEmployeeRepository();
+        } else {
+            client = MongoMetrics.shared().createClient(cmd.getOptionValue("uri", "mongodb://localhost:27017"));
+            String prefix = cmd.getOptionValue("prefix", "loadtest_");
+            MongoDatabase banking = client.getDatabase(prefix + "banking_system");
+            MongoDatabase library = client.getDatabase(prefix + "LibraryDB");
+            MongoDatabase enrollment = client.getDatabase(prefix + "student_enrollment");
+            MongoDatabase employee = client.getDatabase(prefix + "employee_db");
+            for (MongoDatabase db : Arrays.asList(banking, library, enrollment, employee)) db.drop();
+            accounts = new MongoAccountRepository(banking.getCollection("accounts"));
+            books = new MongoBookRepository(library.getCollection("books"));
+            enrollments = new MongoEnrollmentRepository(enrollment);
+            employees = new MongoEmployeeRepository(employee.getCollection("employees"));
+        }
+
+        Workload workload = new Workload(accounts, books, enrollments, employees,
+                Integer.parseInt(cmd.getOptionValue("accounts", "100000")),
+                Integer.parseInt(cmd.getOptionValue("books", "100000")),
+                Integer.parseInt(cmd.getOptionValue("employees", "100000")),
+                Integer.parseInt(cmd.getOptionValue("students", "50000")),
+                Integer.parseInt(cmd.getOptionValue("courses", "1000")),
+                Integer.parseInt(cmd.getOptionValue("enrollments", "200000")),
+                Integer.parseInt(cmd.getOptionValue("max-in-flight", "256")));
+        Mix mix = new Mix(cmd.getOptionValue("mix", DEFAULT_MIX), workload.operations());
+
+        ExecutorService seeders = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            workload.seed(seeders, randomSeed);
+        } finally {
+            seeders.shutdown();
+        }
+
+        LoadGenerator generator = new LoadGenerator(mix, threads, rate);
+        try {
+            if (warmup > 0) {
+                System.out.printf("Warming up for %d s%n", warmup);
+                generator.run(TimeUnit.SECONDS.toNanos(warmup), randomSeed + 1);
+                if (client != null) MongoMetrics.shared().reset();
+            }
+            System.out.printf("Running for %d s at %s with %d threads%n", duration,
+                    rate > 0 ? String.format("%,.0f ops/s", rate) : "full speed", threads);
+            long start = System.nanoTime();
+            OperationStats[] stats = generator.run(TimeUnit.SECONDS.toNanos(duration), randomSeed);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.println();
+            System.out.print(report(stats, seconds, rate));
+            if (client != null) {
+                StringBuilder sb = new StringBuilder();
+                MongoMetrics.shared().appendText(sb);
+                System.out.println();
+                System.out.print(sb);
+            }
+        } finally {
+            generator.shutdown();
+            workload.close();
+            if (client != null) client.close();
+        }
+    }
+}
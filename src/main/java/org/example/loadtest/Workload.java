@@ -0,0 +1,303 @@
+package org.example.loadtest;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.example.AccountRepository;
+import org.example.BankingException;
+import org.example.BankingSystem;
+import org.example.BookRepository;
+import org.example.EmployeeManagementPortal.EmployeeManagementApp;
+import org.example.EmployeeManagementPortal.EmployeeManagementApp.Employee;
+import org.example.EmployeeManagementPortal.EmployeeRepository;
+import org.example.EmployeeManagementPortal.EmployeeService;
+import org.example.LibraryManagementSystem;
+import org.example.studentenrollment.EnrollmentRepository;
+import org.example.studentenrollment.studentenroll;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Synthetic data set and named operations over the four apps. Seeding writes generated
+ * records straight to the repositories in bulk batches, in parallel chunks; operations
+ * then pick their keys uniformly from the seeded ranges, so every read and update hits an
+ * existing record. Records are derived from their index, so a given seed always produces
+ * the same data; student and course ids are built from the index too, and only the _ids
+ * the stores assign to accounts, books and employees differ between runs. Employee
+ * operations go through {@link EmployeeService}, as the HTTP server's do, so its
+ * in-flight limit applies to the load as well.
+ */
+class Workload implements AutoCloseable {
+
+    interface Operation {
+        void run(SplittableRandom random) throws Exception;
+    }
+
+    private interface ChunkSeeder {
+        void seed(int from, int to, SplittableRandom random);
+    }
+
+    static final String[] DEPARTMENTS = {
+            "Engineering", "Sales", "Marketing", "Finance", "HR", "Support", "Operations", "Legal"};
+    private static final String[] SKILLS = {
+            "Java", "MongoDB", "SQL", "Kubernetes", "Python", "Negotiation", "Excel", "Writing"};
+    private static final String[] FIRST_NAMES = {
+            "Asha", "Ben", "Chen", "Dara", "Elif", "Farid", "Grace", "Hugo", "Ines", "Jonas", "Kavya", "Liam"};
+    private static final String[] LAST_NAMES = {
+            "Rao", "Smith", "Li", "Okafor", "Yilmaz", "Haddad", "Kim", "Martin", "Costa", "Berg", "Nair", "Walsh"};
+    private static final String[] GENRES = {"Fantasy", "Mystery", "Romance", "Thriller", "Science Fiction"};
+    private static final String[] SUBJECTS = {"History", "Physics", "Economics", "Biology", "Philosophy"};
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final LocalDate FIRST_JOINING_DATE = LocalDate.of(2010, 1, 1);
+    private static final int JOINING_DATE_SPAN_DAYS = 16 * 365;
+    private static final double SEED_BALANCE = 1_000_000;
+    // Seeded student and course ids: 2024-01-01T00:00:00Z, then a per-kind tag
+    private static final int ID_TIMESTAMP = 1_704_067_200;
+    private static final int STUDENT_IDS = 1;
+    private static final int COURSE_IDS = 2;
+
+    private final AccountRepository accounts;
+    private final BookRepository books;
+    private final EnrollmentRepository enrollments;
+    private final EmployeeRepository employees;
+
+    private final BankingSystem banking;
+    private final LibraryManagementSystem library;
+    private final EmployeeService employeeService;
+
+    private final int accountCount;
+    private final int bookCount;
+    private final int employeeCount;
+    private final ObjectId[] studentIds;
+    private final ObjectId[] courseIds;
+    private final int enrollmentCount;
+
+    // Records created during the run take keys above the seeded range
+    private final AtomicLong nextBook;
+    private final AtomicLong nextEmployee;
+
+    private final Map<String, Operation> operations = new LinkedHashMap<>();
+
+    Workload(AccountRepository accounts, BookRepository books, EnrollmentRepository enrollments,
+             EmployeeRepository employees, int accountCount, int bookCount, int employeeCount,
+             int studentCount, int courseCount, int enrollmentCount, int maxInFlight) {
+        this.accounts = accounts;
+        this.books = books;
+        this.enrollments = enrollments;
+        this.employees = employees;
+        this.banking = new BankingSystem(accounts);
+        this.library = new LibraryManagementSystem(books);
+        this.employeeService = new EmployeeService(new EmployeeManagementApp(employees), maxInFlight);
+        studentenroll.init(enrollments);
+
+        this.accountCount = Math.max(1, accountCount);
+        this.bookCount = Math.max(1, bookCount);
+        this.employeeCount = Math.max(1, employeeCount);
+        this.studentIds = seededIds(STUDENT_IDS, Math.max(1, studentCount));
+        this.courseIds = seededIds(COURSE_IDS, Math.max(1, courseCount));
+        this.enrollmentCount = enrollmentCount;
+        this.nextBook = new AtomicLong(this.bookCount);
+        this.nextEmployee = new AtomicLong(this.employeeCount);
+        registerOperations();
+    }
+
+    Map<String, Operation> operations() {
+        return operations;
+    }
+
+    private void registerOperations() {
+        operations.put("banking.balance", r -> banking.getBalance(accountNumber(r.nextInt(accountCount))));
+        operations.put("banking.deposit", r -> banking.deposit(accountNumber(r.nextInt(accountCount)), 1 + r.nextInt(500)));
+        operations.put("banking.withdraw", r -> banking.withdraw(accountNumber(r.nextInt(accountCount)), 1 + r.nextInt(500)));
+
+        operations.put("library.add", r -> {
+            long n = nextBook.getAndIncrement();
+            boolean fiction = r.nextBoolean();
+            library.addBook(title(r), author(r), isbn(n), fiction ? "Fiction" : "NonFiction",
+                    fiction ? pick(r, GENRES) : pick(r, SUBJECTS));
+        });
+        operations.put("library.updateTitle", r -> library.updateTitle(isbn(r.nextInt(bookCount)), title(r)));
+        operations.put("library.list", r -> library.listBooks(1 + r.nextInt(50), 20));
+
+        operations.put("enrollment.enroll", r -> studentenroll.enroll(
+                studentIds[r.nextInt(studentIds.length)], courseIds[r.nextInt(courseIds.length)], r.nextInt(10) == 0));
+        operations.put("enrollment.renameStudent", r -> studentenroll.renameStudent(
+                studentIds[r.nextInt(studentIds.length)], fullName(r)));
+        operations.put("enrollment.resolvePage", r -> studentenroll.resolveEnrollments(1 + r.nextInt(50), 20));
+
+        operations.put("employees.search", r -> {
+            LocalDate from = joiningDate(r);
+            await(employeeService.searchEmployees(null, pick(r, DEPARTMENTS), null, from, from.plusDays(90)));
+        });
+        operations.put("employees.list", r -> await(employeeService.listEmployees(1 + r.nextInt(50), 20,
+                r.nextBoolean() ? "name" : "joiningDate", r.nextBoolean())));
+        operations.put("employees.add", r -> await(employeeService.addEmployee(employee(nextEmployee.getAndIncrement(), r))));
+        operations.put("employees.update", r -> {
+            Map<String, Object> fields = new HashMap<>();
+            fields.put("department", pick(r, DEPARTMENTS));
+            await(employeeService.updateEmployee(email(r.nextInt(employeeCount)), fields));
+        });
+        operations.put("employees.stats", r -> await(employeeService.getDepartmentStats()));
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception) throw (Exception) e.getCause();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        employeeService.close();
+    }
+
+    void seed(ExecutorService pool, long randomSeed) throws Exception {
+        seed("accounts", accountCount, pool, randomSeed, (from, to, r) -> {
+            List<Document> batch = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                batch.add(new Document("accountNumber", accountNumber(i))
+                        .append("accountHolder", fullName(r))
+                        .append("balance", SEED_BALANCE));
+            }
+            accounts.insertAll(batch);
+        });
+        seed("books", bookCount, pool, randomSeed, (from, to, r) -> {
+            List<Document> batch = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                boolean fiction = r.nextBoolean();
+                batch.add(new Document("title", title(r))
+                        .append("author", author(r))
+                        .append("isbn", isbn(i))
+                        .append("type", fiction ? "FictionBook" : "NonFictionBook")
+                        .append(fiction ? "genre" : "subject", fiction ? pick(r, GENRES) : pick(r, SUBJECTS)));
+            }
+            books.insertAll(batch);
+        });
+        seed("employees", employeeCount, pool, randomSeed, (from, to, r) -> {
+            List<Employee> batch = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) batch.add(employee(i, r));
+            employees.insertAll(batch);
+        });
+        seed("students", studentIds.length, pool, randomSeed, (from, to, r) -> {
+            List<Document> batch = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) batch.add(student(i));
+            enrollments.insertStudents(batch);
+        });
+        seed("courses", courseIds.length, pool, randomSeed, (from, to, r) -> {
+            List<Document> batch = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) batch.add(course(i));
+            enrollments.insertCourses(batch);
+        });
+        seed("enrollments", enrollmentCount, pool, randomSeed, (from, to, r) -> {
+            List<Document> batch = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                int s = r.nextInt(studentIds.length);
+                int c = r.nextInt(courseIds.length);
+                // Same 1-in-10 embedded share as the enroll operation
+                batch.add(r.nextInt(10) == 0
+                        ? new Document("type", "embedded").append("student", student(s)).append("course", course(c))
+                        : new Document("type", "referenced").append("student", studentIds[s]).append("course", courseIds[c]));
+            }
+            enrollments.insertEnrollments(batch);
+        });
+    }
+
+    private static void seed(String what, int count, ExecutorService pool, long randomSeed, ChunkSeeder seeder)
+            throws Exception {
+        if (count <= 0) return;
+        long start = System.nanoTime();
+        List<Future<?>> chunks = new ArrayList<>();
+        for (int from = 0; from < count; from += BATCH_SIZE) {
+            int lo = from;
+            int hi = Math.min(count, from + BATCH_SIZE);
+            // One generator per chunk keeps the data independent of thread scheduling
+            SplittableRandom random = new SplittableRandom(randomSeed * 31 + what.hashCode() + lo);
+            chunks.add(pool.submit(() -> seeder.seed(lo, hi, random)));
+        }
+        for (Future<?> chunk : chunks) chunk.get();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Seeded %,d %s in %.1f s (%,.0f/s)%n", count, what, seconds, count / seconds);
+    }
+
+    private Document student(int i) {
+        return new Document("_id", studentIds[i])
+                .append("name", FIRST_NAMES[i % FIRST_NAMES.length] + " " + LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length])
+                .append("email", "student" + i + "@example.edu");
+    }
+
+    private Document course(int i) {
+        return new Document("_id", courseIds[i])
+                .append("title", SUBJECTS[i % SUBJECTS.length] + " " + (100 + i))
+                .append("description", "Course " + i);
+    }
+
+    private static Employee employee(long i, SplittableRandom r) {
+        List<String> skills = new ArrayList<>(3);
+        int skillCount = 1 + r.nextInt(3);
+        for (int s = 0; s < skillCount; s++) {
+            String skill = pick(r, SKILLS);
+            if (!skills.contains(skill)) skills.add(skill);
+        }
+        return new Employee(fullName(r), email(i), pick(r, DEPARTMENTS), skills, joiningDate(r));
+    }
+
+    // A fixed timestamp, the kind, then the index, so ids sort in index order like generated
+    // ones do. new ObjectId(Date, int) would not do: it mixes in a per-process random value.
+    private static ObjectId[] seededIds(int kind, int count) {
+        ObjectId[] ids = new ObjectId[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = new ObjectId(ByteBuffer.allocate(12).putInt(ID_TIMESTAMP).putInt(kind).putInt(i).array());
+        }
+        return ids;
+    }
+
+    static String accountNumber(long i) {
+        return "ACC" + i;
+    }
+
+    static String isbn(long i) {
+        return "978-" + i;
+    }
+
+    static String email(long i) {
+        return "employee" + i + "@example.com";
+    }
+
+    private static String fullName(SplittableRandom r) {
+        return pick(r, FIRST_NAMES) + " " + pick(r, LAST_NAMES);
+    }
+
+    private static String author(SplittableRandom r) {
+        return pick(r, LAST_NAMES) + ", " + pick(r, FIRST_NAMES);
+    }
+
+    private static String title(SplittableRandom r) {
+        return "The " + pick(r, GENRES) + " of " + pick(r, FIRST_NAMES) + " " + r.nextInt(1000);
+    }
+
+    private static LocalDate joiningDate(SplittableRandom r) {
+        return FIRST_JOINING_DATE.plusDays(r.nextInt(JOINING_DATE_SPAN_DAYS));
+    }
+
+    private static String pick(SplittableRandom r, String[] values) {
+        return values[r.nextInt(values.length)];
+    }
+
+    // Business rejections (insufficient funds and the like) and requests turned away by the
+    // in-flight limit are reported apart from failures
+    static boolean isRejection(Exception e) {
+        return e instanceof BankingException || e instanceof IllegalArgumentException
+                || e instanceof RejectedExecutionException;
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.metrics;
+
+/**
+ * Point-in-time view of a {@link LatencyHistogram} in microseconds, shaped as a plain
+ * bean so JMX can expose it as composite data.
+ */
+public class LatencySummary {
+
+    private final long count;
+    private final long p50Micros;
+    private final long p99Micros;
+    private final long maxMicros;
+    private final double meanMicros;
+
+    public LatencySummary(long count, long p50Micros, long p99Micros, long maxMicros, double meanMicros) {
+        this.count = count;
+        this.p50Micros = p50Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+        this.meanMicros = meanMicros;
+    }
+
+    // The histogram must hold nanoseconds
+    public static LatencySummary of(LatencyHistogram nanos) {
+        return new LatencySummary(nanos.count(), nanos.percentile(50) / 1000, nanos.percentile(99) / 1000,
+                nanos.max() / 1000, nanos.mean() / 1000);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getP50Micros() {
+        return p50Micros;
+    }
+
+    public long getP99Micros() {
+        return p99Micros;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    public double getMeanMicros() {
+        return meanMicros;
+    }
+}
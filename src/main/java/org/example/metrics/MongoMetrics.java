@@ -0,0 +1,291 @@
+package org.example.metrics;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.*;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * Driver-level instrumentation for every Mongo call the apps make. As a CommandListener it
+ * records each command's round-trip latency per "database.collection command"; as a
+ * ConnectionPoolListener it records how long operations wait to check out a connection.
+ * Commands slower than the threshold are logged with the shape of their filter (field
+ * names and operators, values replaced by "?", arrays by their length) so unindexed
+ * lookups show up without leaking data into the log. The shape is only rendered for
+ * commands that turn out slow.
+ */
+public class MongoMetrics implements CommandListener, ConnectionPoolListener, MongoMetricsMXBean {
+
+    private static final Logger log = LogManager.getLogger(MongoMetrics.class);
+
+    public static final String OBJECT_NAME = "org.example:type=MongoMetrics";
+
+    // Longest filter shape logged; anything beyond is cut and marked with "..."
+    static final int MAX_SHAPE_CHARS = 512;
+
+    private static volatile MongoMetrics shared;
+
+    private final ConcurrentMap<String, LatencyHistogram> commandLatencies = new ConcurrentHashMap<>();
+    private final LatencyHistogram poolWait = new LatencyHistogram();
+    private final ConcurrentMap<Integer, Started> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong failedCommands = new AtomicLong();
+    private final AtomicLong slowCommands = new AtomicLong();
+    private volatile long slowQueryThresholdNanos;
+
+    private static class Started {
+        final String key;
+        // Null when slow commands are not logged or the command has no filter to show
+        final BsonValue filter;
+
+        Started(String key, BsonValue filter) {
+            this.key = key;
+            this.filter = filter;
+        }
+    }
+
+    public MongoMetrics(long slowQueryThresholdMillis) {
+        setSlowQueryThresholdMillis(slowQueryThresholdMillis);
+    }
+
+    /**
+     * The process-wide instance used by the apps, registered with JMX on first use. The
+     * slow-query threshold comes from -Dmongo.slowQueryMillis (default 100).
+     */
+    public static MongoMetrics shared() {
+        MongoMetrics metrics = shared;
+        if (metrics == null) {
+            synchronized (MongoMetrics.class) {
+                metrics = shared;
+                if (metrics == null) {
+                    metrics = new MongoMetrics(Long.getLong("mongo.slowQueryMillis", 100));
+                    metrics.registerMBean();
+                    shared = metrics;
+                }
+            }
+        }
+        return metrics;
+    }
+
+    public MongoClient createClient(String connectionString) {
+        return MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(connectionString))
+                .addCommandListener(this)
+                .applyToConnectionPoolSettings(pool -> pool.addConnectionPoolListener(this))
+                .build());
+    }
+
+    void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            log.warn("Could not register {} with JMX: {}", OBJECT_NAME, e.toString());
+        }
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        BsonDocument command = event.getCommand();
+        String key = event.getDatabaseName() + "." + collectionName(command, event.getCommandName())
+                + " " + event.getCommandName();
+        // The command document is only valid during this callback. Keep a copy of the filter
+        // (for a document read off the wire, one byte copy) and render it only if slow.
+        BsonValue filter = slowQueryThresholdNanos >= 0 ? detach(filter(command, event.getCommandName())) : null;
+        inFlight.put(event.getRequestId(), new Started(key, filter));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        finish(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        failedCommands.incrementAndGet();
+        finish(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void finish(int requestId, long elapsedNanos) {
+        Started started = inFlight.remove(requestId);
+        if (started == null) return;
+        commandLatencies.computeIfAbsent(started.key, k -> new LatencyHistogram()).record(elapsedNanos);
+        long threshold = slowQueryThresholdNanos;
+        if (threshold >= 0 && elapsedNanos >= threshold) {
+            slowCommands.incrementAndGet();
+            log.warn("Slow Mongo command {} took {} ms, filter shape {}",
+                    started.key, box(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)),
+                    started.filter == null ? null : shape(started.filter));
+        }
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        poolWait.record(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        poolWait.record(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public Map<String, LatencySummary> getCommandLatencies() {
+        Map<String, LatencySummary> summaries = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : commandLatencies.entrySet()) {
+            summaries.put(entry.getKey(), LatencySummary.of(entry.getValue()));
+        }
+        return summaries;
+    }
+
+    @Override
+    public LatencySummary getPoolWait() {
+        return LatencySummary.of(poolWait);
+    }
+
+    @Override
+    public long getFailedCommandCount() {
+        return failedCommands.get();
+    }
+
+    @Override
+    public long getSlowCommandCount() {
+        return slowCommands.get();
+    }
+
+    @Override
+    public long getSlowQueryThresholdMillis() {
+        long nanos = slowQueryThresholdNanos;
+        return nanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    @Override
+    public void setSlowQueryThresholdMillis(long millis) {
+        slowQueryThresholdNanos = millis < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Override
+    public void reset() {
+        commandLatencies.clear();
+        poolWait.reset();
+        failedCommands.set(0);
+        slowCommands.set(0);
+    }
+
+    // Same line format as the HTTP server's per-endpoint section of /metrics
+    public void appendText(StringBuilder sb) {
+        sb.append("# mongo_command count p50_us p99_us max_us\n");
+        for (Map.Entry<String, LatencySummary> entry : getCommandLatencies().entrySet()) {
+            appendLine(sb, entry.getKey().replace(' ', '_'), entry.getValue());
+        }
+        appendLine(sb, "mongo_pool_wait", getPoolWait());
+        sb.append("mongo_failed_commands ").append(getFailedCommandCount()).append('\n');
+        sb.append("mongo_slow_commands ").append(getSlowCommandCount()).append('\n');
+    }
+
+    private static void appendLine(StringBuilder sb, String name, LatencySummary s) {
+        sb.append(name)
+                .append(' ').append(s.getCount())
+                .append(' ').append(s.getP50Micros())
+                .append(' ').append(s.getP99Micros())
+                .append(' ').append(s.getMaxMicros())
+                .append('\n');
+    }
+
+    static String collectionName(BsonDocument command, String commandName) {
+        BsonValue target = command.get(commandName);
+        if (target != null && target.isString()) return target.asString().getValue();
+        BsonValue collection = command.get("collection");
+        if (collection != null && collection.isString()) return collection.asString().getValue();
+        return "-";
+    }
+
+    // The part of a command worth showing when it is slow; null for commands without one
+    static BsonValue filter(BsonDocument command, String commandName) {
+        BsonValue filter;
+        switch (commandName) {
+            case "find": filter = command.get("filter"); break;
+            case "update": filter = firstStatementQuery(command.get("updates")); break;
+            case "delete": filter = firstStatementQuery(command.get("deletes")); break;
+            case "aggregate": filter = command.get("pipeline"); break;
+            case "count":
+            case "distinct":
+            case "findAndModify": filter = command.get("query"); break;
+            default: return null;
+        }
+        return filter == null ? new BsonDocument() : filter;
+    }
+
+    private static BsonValue detach(BsonValue value) {
+        if (value == null) return null;
+        if (value.isDocument()) return value.asDocument().clone();
+        if (value.isArray()) return value.asArray().clone();
+        return value;
+    }
+
+    static String shape(BsonValue filter) {
+        StringBuilder sb = new StringBuilder(64);
+        appendShape(sb, filter);
+        if (sb.length() > MAX_SHAPE_CHARS) {
+            sb.setLength(MAX_SHAPE_CHARS);
+            sb.append("...");
+        }
+        return sb.toString();
+    }
+
+    private static BsonValue firstStatementQuery(BsonValue statements) {
+        if (statements == null || !statements.isArray() || statements.asArray().isEmpty()) return null;
+        BsonValue first = statements.asArray().get(0);
+        return first.isDocument() ? first.asDocument().get("q") : null;
+    }
+
+    private static void appendShape(StringBuilder sb, BsonValue value) {
+        if (sb.length() > MAX_SHAPE_CHARS) return;
+        if (value.isDocument()) {
+            sb.append('{');
+            boolean first = true;
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                if (!first) sb.append(", ");
+                first = false;
+                sb.append(entry.getKey()).append(": ");
+                appendShape(sb, entry.getValue());
+            }
+            sb.append('}');
+        } else if (value.isArray()) {
+            // Stages and $and/$or clauses keep their structure; value lists such as $in
+            // can hold thousands of entries, so they collapse to a count
+            BsonArray array = value.asArray();
+            if (!array.isEmpty() && array.get(0).isDocument()) {
+                sb.append('[');
+                for (int i = 0; i < array.size(); i++) {
+                    if (i > 0) sb.append(", ");
+                    appendShape(sb, array.get(i));
+                }
+                sb.append(']');
+            } else {
+                sb.append("[? x").append(array.size()).append(']');
+            }
+        } else if (value.isRegularExpression()) {
+            // Regex predicates are the usual unindexed scans, so keep them recognisable
+            sb.append("/?/");
+        } else {
+            sb.append('?');
+        }
+    }
+}
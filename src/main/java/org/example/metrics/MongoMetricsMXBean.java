@@ -0,0 +1,22 @@
+package org.example.metrics;
+
+import java.util.Map;
+
+public interface MongoMetricsMXBean {
+
+    // Keyed "database.collection command"
+    Map<String, LatencySummary> getCommandLatencies();
+
+    LatencySummary getPoolWait();
+
+    long getFailedCommandCount();
+
+    long getSlowCommandCount();
+
+    long getSlowQueryThresholdMillis();
+
+    // Negative disables the slow-query log
+    void setSlowQueryThresholdMillis(long millis);
+
+    void reset();
+}
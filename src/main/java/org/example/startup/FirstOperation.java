@@ -0,0 +1,124 @@
+package org.example.startup;
+
+import com.mongodb.client.MongoClient;
+import org.bson.types.ObjectId;
+import org.example.*;
+import org.example.EmployeeManagementPortal.EmployeeManagementApp;
+import org.example.EmployeeManagementPortal.InMemoryEmployeeRepository;
+import org.example.metrics.MongoMetrics;
+import org.example.studentenrollment.InMemoryEnrollmentRepository;
+import org.example.studentenrollment.studentenroll;
+
+/**
+ * Measures time-to-first-operation for one app: JVM launch to main, main to the app being
+ * constructed, and the first representative call. The calls only read or match nothing,
+ * so no documents change; constructing an app does start building its indexes, exactly as
+ * the app itself does on startup.
+ *
+ * Usage: java -cp target/employees.jar org.example.startup.FirstOperation
+ *            banking|library|enrollment|employees [--memory] [--uri URI] [--training]
+ *
+ * The same run is the training workload for the class-data-sharing archives built by the
+ * "cds" Maven profile. With --training it exercises the in-memory store as well as Mongo
+ * and tolerates an unreachable server, since the point is only to load the classes. The
+ * Mongo side then uses databases prefixed "cds_training_" instead of the apps' own, so
+ * building archives can at most leave those empty databases behind on whatever server the
+ * training URI points to.
+ * Compare startup with and without an archive:
+ *
+ *   java -Xshare:off -cp target/employees.jar org.example.startup.FirstOperation employees
+ *   java -XX:SharedArchiveFile=target/cds/employees.jsa -cp target/employees.jar org.example.startup.FirstOperation employees
+ */
+public class FirstOperation {
+
+    static final String TRAINING_PREFIX = "cds_training_";
+
+    public static void main(String[] args) {
+        long mainMillis = System.currentTimeMillis();
+        long mainNanos = System.nanoTime();
+        if (args.length == 0) {
+            System.err.println("usage: FirstOperation banking|library|enrollment|employees [--memory] [--uri URI] [--training]");
+            System.exit(2);
+        }
+        String app = args[0];
+        boolean memory = false;
+        boolean training = false;
+        String uri = "mongodb://localhost:27017";
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--memory": memory = true; break;
+                case "--training": training = true; break;
+                case "--uri": uri = args[++i]; break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        long jvmMillis = ProcessHandle.current().info().startInstant()
+                .map(start -> mainMillis - start.toEpochMilli())
+                .orElse(-1L);
+
+        if (training) run(app, null, "", -1, mainNanos);
+        boolean ok = run(app, memory ? null : uri, training ? TRAINING_PREFIX : "", jvmMillis, mainNanos);
+        if (!ok && !training) System.exit(1);
+    }
+
+    // A null uri selects the in-memory store. Prints one logfmt line and reports success.
+    private static boolean run(String app, String uri, String databasePrefix, long jvmMillis, long mainNanos) {
+        long setupStart = System.nanoTime();
+        MongoClient client = uri == null ? null : MongoMetrics.shared().createClient(uri);
+        String outcome = "ok";
+        long operationStart = setupStart;
+        try {
+            Runnable operation = prepare(app, client, databasePrefix);
+            operationStart = System.nanoTime();
+            operation.run();
+        } catch (RuntimeException e) {
+            outcome = "failed error=\"" + e.getClass().getSimpleName() + "\"";
+        } finally {
+            if (client != null) client.close();
+        }
+        long end = System.nanoTime();
+        System.out.printf("time_to_first_operation app=%s store=%s jvm_ms=%d setup_ms=%d operation_ms=%d total_ms=%s outcome=%s%n",
+                app, uri == null ? "memory" : "mongo", jvmMillis,
+                millis(operationStart - setupStart), millis(end - operationStart),
+                jvmMillis < 0 ? "-" : String.valueOf(jvmMillis + millis(end - mainNanos)), outcome);
+        return "ok".equals(outcome);
+    }
+
+    private static Runnable prepare(String app, MongoClient client, String databasePrefix) {
+        switch (app) {
+            case "banking": {
+                BankingSystem banking = client == null ? new BankingSystem(new InMemoryAccountRepository())
+                        : new BankingSystem(client.getDatabase(databasePrefix + "banking_system").getCollection("accounts"));
+                return () -> {
+                    try {
+                        banking.getBalance("ACC-" + new ObjectId());
+                    } catch (BankingException expected) {
+                        // Not found is still a completed round trip
+                    }
+                };
+            }
+            case "library": {
+                LibraryManagementSystem library = client == null ? new LibraryManagementSystem(new InMemoryBookRepository())
+                        : new LibraryManagementSystem(client.getDatabase(databasePrefix + "LibraryDB").getCollection("books"));
+                return () -> library.updateTitle("isbn-" + new ObjectId(), "unused");
+            }
+            case "enrollment": {
+                if (client == null) studentenroll.init(new InMemoryEnrollmentRepository());
+                else studentenroll.init(client.getDatabase(databasePrefix + "student_enrollment"));
+                return () -> studentenroll.renameStudent(new ObjectId(), "unused");
+            }
+            case "employees": {
+                EmployeeManagementApp employees = client == null ? new EmployeeManagementApp(new InMemoryEmployeeRepository())
+                        : new EmployeeManagementApp(client.getDatabase(databasePrefix + "employee_db").getCollection("employees"));
+                return () -> employees.searchEmployees(null, "Engineering", null, null, null);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown app: " + app);
+        }
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.studentenrollment;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage for students, courses and the enrollments linking them. Enrollments are either
+ * "embedded" (copies of the student and course documents) or "referenced" (their ids).
+ */
+public interface EnrollmentRepository {
+
+    void insertStudent(Document student);
+
+    void insertCourse(Document course);
+
+    void insertEnrollment(Document enrollment);
+
+    Document findStudent(ObjectId id);
+
+    Document findCourse(ObjectId id);
+
+    List<Document> findAllStudents();
+
+    List<Document> findAllCourses();
+
+    List<Document> findAllEnrollments();
+
+    // Enrollments in insertion order; page is 1-based
+    List<Document> findEnrollments(int page, int pageSize);
+
+    // Ids with no matching document are absent from the result
+    Map<ObjectId, Document> findStudentsByIds(Collection<ObjectId> ids);
+
+    Map<ObjectId, Document> findCoursesByIds(Collection<ObjectId> ids);
+
+    boolean renameStudent(ObjectId id, String newName);
+
+    void createStudentNameIndex();
+
+    // Bulk loads for seeding
+    default void insertStudents(List<Document> students) {
+        for (Document student : students) insertStudent(student);
+    }
+
+    default void insertCourses(List<Document> courses) {
+        for (Document course : courses) insertCourse(course);
+    }
+
+    default void insertEnrollments(List<Document> enrollments) {
+        for (Document enrollment : enrollments) insertEnrollment(enrollment);
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.studentenrollment;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Embedded store for students, courses and enrollments, each a skip list keyed by _id so
+ * listings come back in insertion order. Documents are copied on the way in and out:
+ * an embedded enrollment keeps the student as it was when enrolled, as it does in Mongo.
+ */
+public class InMemoryEnrollmentRepository implements EnrollmentRepository {
+
+    private final ConcurrentNavigableMap<ObjectId, Document> students = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<ObjectId, Document> courses = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<ObjectId, Document> enrollments = new ConcurrentSkipListMap<>();
+
+    @Override
+    public void insertStudent(Document student) {
+        insert(students, student);
+    }
+
+    @Override
+    public void insertCourse(Document course) {
+        insert(courses, course);
+    }
+
+    @Override
+    public void insertEnrollment(Document enrollment) {
+        insert(enrollments, enrollment);
+    }
+
+    @Override
+    public Document findStudent(ObjectId id) {
+        return copy(students.get(id));
+    }
+
+    @Override
+    public Document findCourse(ObjectId id) {
+        return copy(courses.get(id));
+    }
+
+    @Override
+    public List<Document> findAllStudents() {
+        return copyAll(students.values());
+    }
+
+    @Override
+    public List<Document> findAllCourses() {
+        return copyAll(courses.values());
+    }
+
+    @Override
+    public List<Document> findAllEnrollments() {
+        return copyAll(enrollments.values());
+    }
+
+    @Override
+    public List<Document> findEnrollments(int page, int pageSize) {
+        long skip = Math.max(0L, (long) (page - 1) * pageSize);
+        List<Document> copies = new ArrayList<>(Math.max(0, Math.min(pageSize, 64)));
+        for (Document enrollment : enrollments.values()) {
+            if (copies.size() >= pageSize) break;
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            copies.add(new Document(enrollment));
+        }
+        return copies;
+    }
+
+    @Override
+    public Map<ObjectId, Document> findStudentsByIds(Collection<ObjectId> ids) {
+        return findByIds(students, ids);
+    }
+
+    @Override
+    public Map<ObjectId, Document> findCoursesByIds(Collection<ObjectId> ids) {
+        return findByIds(courses, ids);
+    }
+
+    @Override
+    public boolean renameStudent(ObjectId id, String newName) {
+        return students.computeIfPresent(id, (k, student) -> new Document(student).append("name", newName)) != null;
+    }
+
+    @Override
+    public void createStudentNameIndex() {
+        // Lookups here are by _id only; there is nothing to build
+    }
+
+    private static void insert(ConcurrentNavigableMap<ObjectId, Document> collection, Document doc) {
+        ObjectId id = doc.getObjectId("_id");
+        if (id == null) {
+            id = new ObjectId();
+            doc.append("_id", id);
+        }
+        if (collection.putIfAbsent(id, new Document(doc)) != null) {
+            throw new IllegalArgumentException("Duplicate _id: " + id);
+        }
+    }
+
+    private static Map<ObjectId, Document> findByIds(Map<ObjectId, Document> collection, Collection<ObjectId> ids) {
+        Map<ObjectId, Document> byId = new HashMap<>();
+        for (ObjectId id : ids) {
+            Document doc = collection.get(id);
+            if (doc != null) byId.put(id, new Document(doc));
+        }
+        return byId;
+    }
+
+    private static List<Document> copyAll(Collection<Document> docs) {
+        List<Document> copies = new ArrayList<>(docs.size());
+        for (Document doc : docs) copies.add(new Document(doc));
+        return copies;
+    }
+
+    private static Document copy(Document doc) {
+        return doc == null ? null : new Document(doc);
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.studentenrollment;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.util.*;
+
+public class MongoEnrollmentRepository implements EnrollmentRepository {
+
+    // Ids per $in query. A single query over every id would outgrow the 16 MB command
+    // limit at a few hundred thousand ids; this keeps each one far below it.
+    private static final int IN_BATCH_SIZE = 10_000;
+
+    private final MongoCollection<Document> students;
+    private final MongoCollection<Document> courses;
+    private final MongoCollection<Document> enrollments;
+
+    public MongoEnrollmentRepository(MongoDatabase db) {
+        students = db.getCollection("students");
+        courses = db.getCollection("courses");
+        enrollments = db.getCollection("enrollments");
+    }
+
+    @Override
+    public void insertStudent(Document student) {
+        students.insertOne(student);
+    }
+
+    @Override
+    public void insertCourse(Document course) {
+        courses.insertOne(course);
+    }
+
+    @Override
+    public void insertEnrollment(Document enrollment) {
+        enrollments.insertOne(enrollment);
+    }
+
+    @Override
+    public void insertStudents(List<Document> students) {
+        this.students.insertMany(students, new InsertManyOptions().ordered(false));
+    }
+
+    @Override
+    public void insertCourses(List<Document> courses) {
+        this.courses.insertMany(courses, new InsertManyOptions().ordered(false));
+    }
+
+    @Override
+    public void insertEnrollments(List<Document> enrollments) {
+        this.enrollments.insertMany(enrollments, new InsertManyOptions().ordered(false));
+    }
+
+    @Override
+    public Document findStudent(ObjectId id) {
+        return students.find(Filters.eq("_id", id)).first();
+    }
+
+    @Override
+    public Document findCourse(ObjectId id) {
+        return courses.find(Filters.eq("_id", id)).first();
+    }
+
+    @Override
+    public List<Document> findAllStudents() {
+        return students.find().into(new ArrayList<>());
+    }
+
+    @Override
+    public List<Document> findAllCourses() {
+        return courses.find().into(new ArrayList<>());
+    }
+
+    @Override
+    public List<Document> findAllEnrollments() {
+        return enrollments.find().into(new ArrayList<>());
+    }
+
+    @Override
+    public List<Document> findEnrollments(int page, int pageSize) {
+        return enrollments.find()
+                .sort(Sorts.ascending("_id"))
+                .skip((page - 1) * pageSize)
+                .limit(pageSize)
+                .into(new ArrayList<>());
+    }
+
+    @Override
+    public Map<ObjectId, Document> findStudentsByIds(Collection<ObjectId> ids) {
+        return findByIds(students, ids);
+    }
+
+    @Override
+    public Map<ObjectId, Document> findCoursesByIds(Collection<ObjectId> ids) {
+        return findByIds(courses, ids);
+    }
+
+    private static Map<ObjectId, Document> findByIds(MongoCollection<Document> collection, Collection<ObjectId> ids) {
+        Map<ObjectId, Document> byId = new HashMap<>();
+        List<ObjectId> batch = new ArrayList<>(Math.min(ids.size(), IN_BATCH_SIZE));
+        Iterator<ObjectId> it = ids.iterator();
+        while (it.hasNext()) {
+            batch.add(it.next());
+            if (batch.size() == IN_BATCH_SIZE || !it.hasNext()) {
+                for (Document doc : collection.find(Filters.in("_id", batch))) {
+                    byId.put(doc.getObjectId("_id"), doc);
+                }
+                batch.clear();
+            }
+        }
+        return byId;
+    }
+
+    @Override
+    public boolean renameStudent(ObjectId id, String newName) {
+        return students.updateOne(Filters.eq("_id", id), Updates.set("name", newName)).getMatchedCount() > 0;
+    }
+
+    @Override
+    public void createStudentNameIndex() {
+        students.createIndex(Indexes.ascending("name"));
+    }
+}
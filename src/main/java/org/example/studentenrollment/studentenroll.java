@@ -2,28 +2,26 @@ package org.example.studentenrollment;
 
 
 import com.mongodb.client.*;
-import com.mongodb.client.model.Filters;
-import com.mongodb.client.model.Indexes;
-import com.mongodb.client.model.Updates;
 import org.bson.Document;
 import org.bson.types.ObjectId;
+import org.example.metrics.MongoMetrics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.util.*;
 
+import static org.apache.logging.log4j.util.Unbox.box;
+
 public class studentenroll {
 
+    private static final Logger log = LogManager.getLogger(studentenroll.class);
+
     private static final Scanner scanner = new Scanner(System.in);
-    private static MongoCollection<Document> students;
-    private static MongoCollection<Document> courses;
-    private static MongoCollection<Document> enrollments;
+    private static EnrollmentRepository repository;
 
     public static void main(String[] args) {
-        try (MongoClient mongoClient = MongoClients.create("mongodb://localhost:27017")) {
-            MongoDatabase db = mongoClient.getDatabase("student_enrollment");
-
-            students = db.getCollection("students");
-            courses = db.getCollection("courses");
-            enrollments = db.getCollection("enrollments");
+        try (MongoClient mongoClient = MongoMetrics.shared().createClient("mongodb://localhost:27017")) {
+            init(mongoClient.getDatabase("student_enrollment"));
 
             System.out.println("Welcome to Student Enrollment Management System\n");
 
@@ -65,6 +63,112 @@ public class studentenroll {
         }
     }
 
+    public static void init(MongoDatabase db) {
+        init(new MongoEnrollmentRepository(db));
+    }
+
+    public static void init(EnrollmentRepository enrollmentRepository) {
+        repository = enrollmentRepository;
+    }
+
+    public static Document createStudent(String name, String email) {
+        long start = System.nanoTime();
+        Document student = new Document("_id", new ObjectId())
+                .append("name", name)
+                .append("email", email);
+        repository.insertStudent(student);
+        log.info("event=student_created student={} latencyUs={}", student.getObjectId("_id"), box(micros(start)));
+        return student;
+    }
+
+    public static Document createCourse(String title, String description) {
+        long start = System.nanoTime();
+        Document course = new Document("_id", new ObjectId())
+                .append("title", title)
+                .append("description", description);
+        repository.insertCourse(course);
+        log.info("event=course_created course={} latencyUs={}", course.getObjectId("_id"), box(micros(start)));
+        return course;
+    }
+
+    // Returns null when either the student or the course does not exist
+    public static Document enroll(ObjectId studentId, ObjectId courseId, boolean embedded) {
+        Document student = repository.findStudent(studentId);
+        Document course = repository.findCourse(courseId);
+        if (student == null || course == null) return null;
+        return enroll(student, course, embedded);
+    }
+
+    private static Document enroll(Document student, Document course, boolean embedded) {
+        long start = System.nanoTime();
+        Document enrollment;
+        if (embedded) {
+            enrollment = new Document("type", "embedded")
+                    .append("student", student)
+                    .append("course", course);
+        } else {
+            enrollment = new Document("type", "referenced")
+                    .append("student", student.getObjectId("_id"))
+                    .append("course", course.getObjectId("_id"));
+        }
+        repository.insertEnrollment(enrollment);
+        log.info("event=enrolled student={} course={} type={} latencyUs={}", student.getObjectId("_id"),
+                course.getObjectId("_id"), enrollment.getString("type"), box(micros(start)));
+        return enrollment;
+    }
+
+    // Every enrollment with its student and course resolved to full documents (null when a
+    // referenced document is missing). Referenced ids are fetched with batched $in queries
+    // per collection instead of two lookups per enrollment.
+    public static List<Document> resolveEnrollments() {
+        return resolve(repository.findAllEnrollments());
+    }
+
+    // One page of enrollments, resolved the same way; page is 1-based
+    public static List<Document> resolveEnrollments(int page, int pageSize) {
+        return resolve(repository.findEnrollments(page, pageSize));
+    }
+
+    private static List<Document> resolve(List<Document> enrollmentList) {
+        Set<ObjectId> studentIds = new HashSet<>();
+        Set<ObjectId> courseIds = new HashSet<>();
+        for (Document enrollment : enrollmentList) {
+            if ("referenced".equals(enrollment.getString("type"))) {
+                studentIds.add(enrollment.getObjectId("student"));
+                courseIds.add(enrollment.getObjectId("course"));
+            }
+        }
+        Map<ObjectId, Document> studentsById = repository.findStudentsByIds(studentIds);
+        Map<ObjectId, Document> coursesById = repository.findCoursesByIds(courseIds);
+
+        List<Document> resolved = new ArrayList<>(enrollmentList.size());
+        for (Document enrollment : enrollmentList) {
+            String type = enrollment.getString("type");
+            Document student;
+            Document course;
+            if ("referenced".equals(type)) {
+                student = studentsById.get(enrollment.getObjectId("student"));
+                course = coursesById.get(enrollment.getObjectId("course"));
+            } else {
+                student = (Document) enrollment.get("student");
+                course = (Document) enrollment.get("course");
+            }
+            resolved.add(new Document("type", type).append("student", student).append("course", course));
+        }
+        return resolved;
+    }
+
+    public static boolean renameStudent(ObjectId studentId, String newName) {
+        long start = System.nanoTime();
+        boolean renamed = repository.renameStudent(studentId, newName);
+        log.info("event=student_renamed student={} matched={} latencyUs={}", studentId, renamed, box(micros(start)));
+        return renamed;
+    }
+
+    private static long micros(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1000;
+    }
+
     private static void printMenu() {
         System.out.println("Menu:");
         System.out.println("1. Insert a student");
@@ -79,26 +183,20 @@ public class studentenroll {
     private static void insertStudent() {
         String name = getStringInput("Enter student name: ");
         String email = getStringInput("Enter student email: ");
-        Document student = new Document("_id", new ObjectId())
-                .append("name", name)
-                .append("email", email);
-        students.insertOne(student);
+        createStudent(name, email);
         System.out.println("Inserted student: " + name);
     }
 
     private static void insertCourse() {
         String title = getStringInput("Enter course title: ");
         String description = getStringInput("Enter course description: ");
-        Document course = new Document("_id", new ObjectId())
-                .append("title", title)
-                .append("description", description);
-        courses.insertOne(course);
+        createCourse(title, description);
         System.out.println("Inserted course: " + title);
     }
 
     private static void addEnrollment() {
-        List<Document> studentList = students.find().into(new ArrayList<>());
-        List<Document> courseList = courses.find().into(new ArrayList<>());
+        List<Document> studentList = repository.findAllStudents();
+        List<Document> courseList = repository.findAllCourses();
 
         if (studentList.isEmpty() || courseList.isEmpty()) {
             System.out.println("Need at least one student and one course to add enrollment.");
@@ -133,21 +231,12 @@ public class studentenroll {
         System.out.println("1. Embedded");
         System.out.println("2. Referenced");
         int typeChoice = getIntInput("Select enrollment type (1 or 2): ");
-        Document enrollment;
 
         if (typeChoice == 1) {
-            // Embedded
-            enrollment = new Document("type", "embedded")
-                    .append("student", selectedStudent)
-                    .append("course", selectedCourse);
-            enrollments.insertOne(enrollment);
+            enroll(selectedStudent, selectedCourse, true);
             System.out.println("Added embedded enrollment.");
         } else if (typeChoice == 2) {
-            // Referenced
-            enrollment = new Document("type", "referenced")
-                    .append("student", selectedStudent.getObjectId("_id"))
-                    .append("course", selectedCourse.getObjectId("_id"));
-            enrollments.insertOne(enrollment);
+            enroll(selectedStudent, selectedCourse, false);
             System.out.println("Added referenced enrollment.");
         } else {
             System.out.println("Invalid enrollment type selection.");
@@ -155,7 +244,7 @@ public class studentenroll {
     }
 
     private static void queryAndPrintEnrollments() {
-        List<Document> enrollmentList = enrollments.find().into(new ArrayList<>());
+        List<Document> enrollmentList = resolveEnrollments();
         if (enrollmentList.isEmpty()) {
             System.out.println("No enrollments found.");
             return;
@@ -166,26 +255,20 @@ public class studentenroll {
             String type = enrollment.getString("type");
             System.out.println("\nType: " + type);
 
+            Document student = (Document) enrollment.get("student");
+            Document course = (Document) enrollment.get("course");
             if ("embedded".equals(type)) {
-                Document embeddedStudent = (Document) enrollment.get("student");
-                Document embeddedCourse = (Document) enrollment.get("course");
-                System.out.println("Student (embedded): " + embeddedStudent.toJson());
-                System.out.println("Course (embedded): " + embeddedCourse.toJson());
+                System.out.println("Student (embedded): " + student.toJson());
+                System.out.println("Course (embedded): " + course.toJson());
             } else if ("referenced".equals(type)) {
-                ObjectId studentId = enrollment.getObjectId("student");
-                ObjectId courseId = enrollment.getObjectId("course");
-
-                Document refStudent = students.find(Filters.eq("_id", studentId)).first();
-                Document refCourse = courses.find(Filters.eq("_id", courseId)).first();
-
-                System.out.println("Student (referenced): " + (refStudent != null ? refStudent.toJson() : "Not found"));
-                System.out.println("Course (referenced): " + (refCourse != null ? refCourse.toJson() : "Not found"));
+                System.out.println("Student (referenced): " + (student != null ? student.toJson() : "Not found"));
+                System.out.println("Course (referenced): " + (course != null ? course.toJson() : "Not found"));
             }
         }
     }
 
     private static void updateStudentName() {
-        List<Document> studentList = students.find().into(new ArrayList<>());
+        List<Document> studentList = repository.findAllStudents();
         if (studentList.isEmpty()) {
             System.out.println("No students found.");
             return;
@@ -205,8 +288,7 @@ public class studentenroll {
 
         String newName = getStringInput("Enter new name for " + selectedStudent.getString("name") + ": ");
 
-        students.updateOne(Filters.eq("_id", selectedStudent.getObjectId("_id")),
-                Updates.set("name", newName));
+        renameStudent(selectedStudent.getObjectId("_id"), newName);
 
         System.out.println("Student's name updated.");
 
@@ -218,7 +300,7 @@ public class studentenroll {
     }
 
     private static void createStudentNameIndex() {
-        students.createIndex(Indexes.ascending("name"));
+        repository.createStudentNameIndex();
         System.out.println("Created ascending index on 'name' field in students collection.");
     }
 